@@ -0,0 +1,88 @@
+package animation;
+
+import animation.customComponents.AnimatedPanel;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Checks that a steady-state frame allocates nothing: 1500 running moves, scales, rotations and fades over 500
+ * targets are ticked through a {@link ManualDriver} with the library defaults, and the bytes allocated on this thread
+ * around the measured frames must not change. Exits with status 1 if they do, run it headless from the project root:
+ * <pre>
+ * javac -d out/bench $(find src bench -name "*.java")
+ * java -Djava.awt.headless=true -cp out/bench animation.AllocationCheck
+ * </pre>
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AllocationCheck {
+
+    private static final int TARGETS = 500;
+    private static final int ANIMATIONS = 1500;
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int FRAMES = 5_000;
+    private static final float FRAME = 1 / 200f;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("allocation counters aren't available on this JVM, skipped");
+            return;
+        }
+        com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+        counters.setThreadAllocatedMemoryEnabled(true);
+
+        ManualDriver driver = AnimationDriver.manual();
+        AnimationManager manager = new AnimationManager(driver);
+        AnimatedPanel[] components = new AnimatedPanel[TARGETS];
+        for (int t = 0; t < TARGETS; t++) {
+            components[t] = new AnimatedPanel(Color.RED);
+            components[t].setBounds(0, 0, 50, 50);
+        }
+        AnimationManager.Easing[] easings = AnimationManager.Easing.values();
+        for (int i = 0; i < ANIMATIONS; i++) {
+            AnimatedPanel target = components[i % TARGETS];
+            AnimationManager.Easing easing = easings[i % easings.length];
+            //long enough to never finish, so every frame does the same work
+            switch (i % 4) {
+                case 0:
+                    manager.animateMove(target, 400, 300, 1e6f, easing);
+                    break;
+                case 1:
+                    manager.animateScale(target, 2f, 2f, 1e6f, easing);
+                    break;
+                case 2:
+                    manager.animateRotation(target, 90f, 1e6f, easing);
+                    break;
+                default:
+                    manager.animateFade(target, 0.5f, 1e6f, easing);
+                    break;
+            }
+        }
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            driver.advance(FRAME);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = counters.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < FRAMES; i++) {
+            driver.advance(FRAME);
+        }
+        long allocated = counters.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.printf("%d frames, %d animations over %d targets: %d bytes allocated (%.2f B/frame)%n",
+                FRAMES, ANIMATIONS, TARGETS, allocated, (double) allocated / FRAMES);
+        if (allocated != 0) {
+            System.out.println("FAILED: a steady-state frame must not allocate");
+            System.exit(1);
+        }
+        System.out.println("OK");
+        System.exit(0);
+    }
+}
@@ -0,0 +1,117 @@
+package animation;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A tiny benchmark harness, so the benchmarks run from the IDE without a build tool or any dependency.
+ * <p>
+ * Each benchmark is warmed up for a fixed time, then measured over several timed iterations. It reports the mean
+ * time per operation with its spread, the bytes allocated per operation on the benchmark thread (read from
+ * {@code com.sun.management.ThreadMXBean}, like JMH's GC profiler does) and the collections that happened while
+ * measuring. Results are only comparable on the same machine with nothing else running.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class Bench {
+
+    interface Operation {
+        /**
+         * Runs the measured code once
+         * @return anything derived from the work, so it can't be optimized away
+         */
+        long run();
+    }
+
+    private static final long WARMUP_NANOS = Long.getLong("bench.warmupMillis", 1000) * 1_000_000L;
+    private static final long ITERATION_NANOS = Long.getLong("bench.iterationMillis", 500) * 1_000_000L;
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+
+    //results end up here so the JIT can't drop the work
+    static volatile long sink;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private Bench() {
+    }
+
+    static void header() {
+        System.out.printf(Locale.ROOT, "%-48s %14s %10s %12s %6s%n", "benchmark", "ns/op", "+-", "B/op", "gc");
+    }
+
+    /**
+     * Measures an operation and prints one result line
+     * @param name - The name printed in front of the results
+     * @param operation - The operation, called repeatedly
+     */
+    static void run(String name, Operation operation) {
+        long sum = 0;
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            sum += operation.run();
+        }
+
+        double[] nanosPerOp = new double[ITERATIONS];
+        long ops = 0;
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocatedBytes(threadId);
+        long gcBefore = collections();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long iterationOps = 0;
+            long start = System.nanoTime();
+            long now;
+            do {
+                sum += operation.run();
+                iterationOps++;
+                now = System.nanoTime();
+            } while (now - start < ITERATION_NANOS);
+            nanosPerOp[i] = (double) (now - start) / iterationOps;
+            ops += iterationOps;
+        }
+        long allocated = allocatedBytes(threadId) - allocatedBefore;
+        long gcs = collections() - gcBefore;
+        sink = sum;
+
+        double mean = 0;
+        for (double v : nanosPerOp) mean += v;
+        mean /= ITERATIONS;
+        double variance = 0;
+        for (double v : nanosPerOp) variance += (v - mean) * (v - mean);
+        double error = ITERATIONS > 1 ? Math.sqrt(variance / (ITERATIONS - 1)) : 0;
+
+        String bytesPerOp = allocated < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", (double) allocated / ops);
+        System.out.printf(Locale.ROOT, "%-48s %14.1f %10.1f %12s %6d%n", name, mean, error, bytesPerOp, gcs);
+    }
+
+    private static long allocatedBytes(long threadId) {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    private static long collections() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * @param args - The command line
+     * @param name - A benchmark name
+     * @return true if the benchmark was selected, every argument is a substring filter and no arguments runs all
+     */
+    static boolean selected(String[] args, String name) {
+        if (args.length == 0) return true;
+        for (String filter : args) {
+            if (name.contains(filter)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package animation;
+
+/**
+ * Runs the benchmarks, run it headless from the project root:
+ * <pre>
+ * javac -d out/bench $(find src bench -name "*.java")
+ * java -Djava.awt.headless=true -cp out/bench animation.BenchMain [filter...]
+ * </pre>
+ * Every argument is a substring filter on the benchmark names ({@code tick}, {@code parallel count=100000},
+ * {@code easing EASE_OUT}, {@code paint label}, {@code rotate}, ...), without arguments everything runs. Warmup and
+ * iteration times can be changed with {@code -Dbench.warmupMillis}, {@code -Dbench.iterationMillis} and
+ * {@code -Dbench.iterations}.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class BenchMain {
+
+    private BenchMain() {
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        Bench.header();
+        TickBenchmark.run(args);
+        ParallelBenchmark.run(args);
+        EasingBenchmark.run(args);
+        PaintBenchmark.run(args);
+        RotateBenchmark.run(args);
+        System.exit(0);
+    }
+}
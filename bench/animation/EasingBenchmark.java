@@ -0,0 +1,37 @@
+package animation;
+
+/**
+ * Cost of evaluating every {@link AnimationManager.Easing} on its own, exactly and through its lookup table, plus a
+ * {@link CubicBezier}. One operation evaluates the curve at 1024 evenly spread points.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class EasingBenchmark {
+
+    private static final int POINTS = 1024;
+
+    private EasingBenchmark() {
+    }
+
+    static void run(String[] args) {
+        for (AnimationManager.Easing easing : AnimationManager.Easing.values()) {
+            measure(args, "easing " + easing + " exact", easing);
+            EasingTable table = EasingTable.lookup(easing, EasingTable.DEFAULT_MAX_ERROR);
+            if (table != null) {
+                measure(args, "easing " + easing + " table", table);
+            }
+        }
+        measure(args, "easing " + CubicBezier.EASE_IN_OUT, CubicBezier.EASE_IN_OUT);
+    }
+
+    private static void measure(String[] args, String name, EasingFunction easing) {
+        if (!Bench.selected(args, name)) return;
+        Bench.run(name, () -> {
+            float sum = 0;
+            for (int i = 0; i < POINTS; i++) {
+                sum += easing.ease(i / (float) (POINTS - 1));
+            }
+            return Float.floatToRawIntBits(sum);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package animation;
+
+import animation.customComponents.AnimatedButton;
+import animation.customComponents.AnimatedJComponent;
+import animation.customComponents.AnimatedLabel;
+import animation.customComponents.AnimatedPanel;
+
+import javax.swing.ImageIcon;
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cost of painting the animated components into a headless {@link BufferedImage}: untransformed, faded and rotated,
+ * and faded and rotated through the layer cache.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class PaintBenchmark {
+
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 100;
+
+    private PaintBenchmark() {
+    }
+
+    static void run(String[] args) {
+        BufferedImage icon = new BufferedImage(800, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = icon.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.RED, 800, 400, Color.BLUE));
+        g.fillRect(0, 0, 800, 400);
+        g.dispose();
+
+        measure(args, "panel", new AnimatedPanel(Color.BLUE));
+        AnimatedLabel label = new AnimatedLabel();
+        label.setIcon(new ImageIcon(icon));
+        measure(args, "label", label);
+        measure(args, "button", new AnimatedButton("Click me!"));
+    }
+
+    private static <T extends JComponent & AnimatedJComponent> void measure(String[] args, String kind, T component) {
+        component.setBounds(0, 0, WIDTH, HEIGHT);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        paint(args, "paint " + kind + " plain", component, target, 1f, 0f, false);
+        paint(args, "paint " + kind + " opacity+rotation", component, target, 0.5f, 0.3f, false);
+        paint(args, "paint " + kind + " opacity+rotation cached", component, target, 0.5f, 0.3f, true);
+    }
+
+    private static <T extends JComponent & AnimatedJComponent> void paint(String[] args, String name, T component,
+                                                                           BufferedImage target, float opacity,
+                                                                           float rotation, boolean cached) {
+        if (!Bench.selected(args, name)) return;
+        component.getAnimationState().setOpacity(opacity);
+        component.getAnimationState().setRotation(rotation);
+        component.setLayerCacheEnabled(cached);
+        Bench.run(name, () -> {
+            Graphics2D g = target.createGraphics();
+            component.paint(g);
+            g.dispose();
+            return target.getRGB(WIDTH / 2, HEIGHT / 2);
+        });
+        component.setLayerCacheEnabled(false);
+    }
+}
@@ -0,0 +1,79 @@
+package animation;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How parallel interpolation scales with the number of cores: the same tick as {@link TickBenchmark}, once
+ * sequential and then with {@link AnimationManager#setParallelInterpolation(boolean)} on pools of 1, 2, 4, ... up to
+ * {@code availableProcessors()} threads. Ticks run through a {@link ManualDriver}, which waits for the workers, so
+ * ns/op is the whole pipelined frame and no frame is skipped.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class ParallelBenchmark {
+
+    private static final int[] ANIMATION_COUNTS = {10_000, 100_000};
+    private static final int ANIMATIONS_PER_TARGET = 2;
+    //one simulated frame at 200 fps
+    private static final long FRAME_NANOS = 5_000_000L;
+
+    private ParallelBenchmark() {
+    }
+
+    static void run(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int count : ANIMATION_COUNTS) {
+            tick(args, count, 0);
+            for (int threads = 1; threads < cores; threads *= 2) {
+                tick(args, count, threads);
+            }
+            tick(args, count, cores);
+        }
+    }
+
+    //threads 0 is the sequential step
+    private static void tick(String[] args, int count, int threads) {
+        String name = "parallel count=" + count + (threads == 0 ? " sequential" : " threads=" + threads);
+        if (!Bench.selected(args, name)) return;
+
+        ManualDriver driver = AnimationDriver.manual();
+        AnimationManager manager = new AnimationManager(driver);
+        ForkJoinPool pool = threads == 0 ? null : new ForkJoinPool(threads);
+        if (pool != null) {
+            manager.setParallelPool(pool);
+            manager.setParallelThreshold(1);
+            manager.setParallelInterpolation(true);
+        }
+
+        int targets = count / ANIMATIONS_PER_TARGET;
+        JComponent[] components = new JComponent[targets];
+        for (int t = 0; t < targets; t++) {
+            components[t] = new JPanel();
+            components[t].setBounds(0, 0, 50, 50);
+        }
+        AnimationManager.Easing[] easings = AnimationManager.Easing.values();
+        for (int i = 0; i < count; i++) {
+            JComponent target = components[i % targets];
+            AnimationManager.Easing easing = easings[i % easings.length];
+            if ((i & 1) == 0) {
+                manager.animateMove(target, 400, 300, 1e6f, easing);
+            } else {
+                manager.animateScale(target, 2f, 2f, 1e6f, easing);
+            }
+        }
+
+        //first frame moves the submissions into the store
+        driver.frame();
+        try {
+            Bench.run(name, () -> {
+                driver.advanceNanos(FRAME_NANOS);
+                return components[0].getX();
+            });
+        } finally {
+            manager.stop();
+            if (pool != null) pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package animation;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cost of {@link Utils#rotateImageRightAngles(BufferedImage, float)} on the common image types, and of drawing the
+ * rotated image afterwards (the result keeps the source type, so it draws as fast as the source would).
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class RotateBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final int[] TYPES = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_USHORT_565_RGB
+    };
+    private static final String[] TYPE_NAMES = {"INT_ARGB", "INT_RGB", "3BYTE_BGR", "4BYTE_ABGR", "USHORT_565_RGB"};
+
+    private RotateBenchmark() {
+    }
+
+    static void run(String[] args) {
+        for (int i = 0; i < TYPES.length; i++) {
+            BufferedImage source = new BufferedImage(SIZE, SIZE, TYPES[i]);
+            Graphics2D g = source.createGraphics();
+            g.setPaint(new GradientPaint(0, 0, Color.RED, SIZE, SIZE, Color.BLUE));
+            g.fillRect(0, 0, SIZE, SIZE);
+            g.dispose();
+
+            String rotateName = "rotate " + TYPE_NAMES[i] + " 90";
+            if (Bench.selected(args, rotateName)) {
+                Bench.run(rotateName, () -> Utils.rotateImageRightAngles(source, 90).getRGB(0, 0));
+            }
+
+            String drawName = "rotate " + TYPE_NAMES[i] + " draw result";
+            if (Bench.selected(args, drawName)) {
+                BufferedImage rotated = Utils.rotateImageRightAngles(source, 90);
+                BufferedImage target = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+                Graphics2D targetGraphics = target.createGraphics();
+                try {
+                    Bench.run(drawName, () -> {
+                        targetGraphics.drawImage(rotated, 0, 0, null);
+                        return target.getRGB(SIZE / 2, SIZE / 2);
+                    });
+                } finally {
+                    targetGraphics.dispose();
+                }
+            }
+        }
+    }
+}
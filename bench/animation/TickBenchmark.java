@@ -0,0 +1,64 @@
+package animation;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+/**
+ * Cost of one {@link AnimationManager#tick(long)} against the number of running animations and against how many
+ * animations share a target. Ticks are driven through a {@link ManualDriver} with a synthetic clock, every animation is
+ * long enough to never finish while measuring.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class TickBenchmark {
+
+    private static final int[] ANIMATION_COUNTS = {1, 10, 100, 1_000, 10_000, 100_000};
+    private static final int[] ANIMATIONS_PER_TARGET = {1, 4, 16};
+    //one simulated frame at 200 fps
+    private static final long FRAME_NANOS = 5_000_000L;
+
+    private TickBenchmark() {
+    }
+
+    static void run(String[] args) {
+        for (int perTarget : ANIMATIONS_PER_TARGET) {
+            for (int count : ANIMATION_COUNTS) {
+                if (count < perTarget) continue;
+                tick(args, count, perTarget);
+            }
+        }
+    }
+
+    private static void tick(String[] args, int count, int perTarget) {
+        String name = "tick count=" + count + " perTarget=" + perTarget;
+        if (!Bench.selected(args, name)) return;
+
+        ManualDriver driver = AnimationDriver.manual();
+        AnimationManager manager = new AnimationManager(driver);
+
+        int targets = count / perTarget;
+        JComponent[] components = new JComponent[targets];
+        for (int t = 0; t < targets; t++) {
+            components[t] = new JPanel();
+            components[t].setBounds(0, 0, 50, 50);
+        }
+        AnimationManager.Easing[] easings = AnimationManager.Easing.values();
+        for (int i = 0; i < count; i++) {
+            JComponent target = components[i % targets];
+            AnimationManager.Easing easing = easings[i % easings.length];
+            //moves and scales, so every target is resolved and applied each frame
+            if ((i & 1) == 0) {
+                manager.animateMove(target, 400, 300, 1e6f, easing);
+            } else {
+                manager.animateScale(target, 2f, 2f, 1e6f, easing);
+            }
+        }
+
+        //first frame moves the submissions into the store
+        driver.frame();
+        Bench.run(name, () -> {
+            driver.advanceNanos(FRAME_NANOS);
+            return components[0].getX();
+        });
+    }
+}
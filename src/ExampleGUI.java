@@ -1,4 +1,5 @@
 import animation.Utils;
+import animation.assets.AssetLoader;
 import animation.customComponents.AnimatedLabel;
 import animation.customComponents.AnimatedPanel;
 import animation.AnimationManager;
@@ -86,6 +87,9 @@ public class ExampleGUI extends JFrame {
              */
             panel.setBackground(new Color(0.15f, 0.15f, 0.2f, 1f));
 
+            //Decodes the images in the background so the window shows right away, the first ones on screen go first
+            AssetLoader assetLoader = new AssetLoader();
+
             AnimatedPanel flash = new AnimatedPanel(Color.WHITE);
             flash.setBounds(0, 0, 800, 600);
             flash.setOpacity(0f);
@@ -95,16 +99,14 @@ public class ExampleGUI extends JFrame {
             int scaledWidth = (int)(589 * 2.1);
             int scaledHeight = (int)(295 * 2.1);
 
-            focus.setIcon(new ImageIcon(Utils.resizeTo(new ImageIcon(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/focus.png"))).getImage(), scaledWidth, scaledHeight)));
+            AssetLoader.showWhenLoaded(focus, assetLoader.load(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/focus.png")), scaledWidth, scaledHeight, AssetLoader.PRIORITY_LOW), null);
 
             focus.setBounds(400 - scaledWidth / 2, 300 - scaledHeight / 2, scaledWidth, scaledHeight);
             focus.setOpacity(0f);
             panel.add(focus);
 
             AnimatedLabel gdxLogo = new AnimatedLabel();
-            gdxLogo.setIcon(new ImageIcon(Utils.resizeTo(
-                    new ImageIcon(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/madeWSwing.png"))).getImage(),
-                    100.0)));
+            AssetLoader.showWhenLoaded(gdxLogo, assetLoader.load(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/madeWSwing.png")), AssetLoader.PRIORITY_HIGH), null);
             gdxLogo.setBounds(400 - 454 / 2, 300 - 126 / 2, 454, 126);
             gdxLogo.setOpacity(0f);
             animationManager.animateScale(gdxLogo, 0.1f, 0.1f, 0.1f, AnimationManager.Easing.LINEAR);
@@ -117,7 +119,8 @@ public class ExampleGUI extends JFrame {
             panel.add(allRoadsLeadToRome);
 
             AnimatedLabel logo = new AnimatedLabel();
-            logo.setIcon(new ImageIcon(Utils.resizeTo(new ImageIcon(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/grease_up.png"))).getImage(), 120.0)));
+            AssetLoader.showWhenLoaded(logo, assetLoader.load(Objects.requireNonNull(ExampleGUI.class.getResource("/assets/grease_up.png")), AssetLoader.PRIORITY_NORMAL)
+                    .thenApply(image -> Utils.resizeTo(image, 120.0)), null);
             logo.setBounds(400 - 500 / 2, 300 - 120 / 2 - 600, 500, 400);
             logo.setName("Logo");
             panel.add(logo);
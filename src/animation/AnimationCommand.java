@@ -0,0 +1,74 @@
+package animation;
+
+import javax.swing.JComponent;
+
+/**
+ * A request to start an animation, captured on the thread that called one of the animate* methods
+ * and handed over to the {@link AnimationStore} through the {@link CommandQueue} on the next tick.
+ * Start values are read from the target when the command is created, on the calling thread.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class AnimationCommand {
+    byte type;
+    JComponent target;
+    EasingFunction easing;
+    float duration;
+
+    //Generic start/end pair, MOVE uses both lanes, SCALE ends at (scaleX, scaleY), FADE/ROTATION only use lane A
+    float startA, startB;
+    float endA, endB;
+
+    //Where the component was centered and how big it was when the animation started (SCALE, ROTATION)
+    float centerX, centerY;
+    float baseWidth, baseHeight;
+
+    //How it combines with earlier animations of the same target, see Blend
+    byte blendMode = Blend.OVERRIDE_MODE;
+    float blendWeight = 1f;
+
+    AnimationHandle handle;
+    //replace the animations of the target that only touch properties this one sets
+    boolean supersede;
+
+    //KEYFRAMES: the tracks, startA/startB and baseWidth/baseHeight hold the bounds the component started from
+    KeyframeTrack[] tracks;
+
+    //Intrusive link used by CommandQueue
+    AnimationCommand next;
+
+    AnimationCommand(byte type, JComponent target, float duration, EasingFunction easing) {
+        if (easing == null) {
+            throw new IllegalArgumentException("easing can not be null");
+        }
+        this.type = type;
+        this.target = target;
+        this.duration = duration;
+        this.easing = easing;
+    }
+
+    //Swaps a built in easing for its shared lookup table when tables are enabled and one meets the bound
+    void useTable(boolean enabled, float maxError) {
+        if (enabled && easing instanceof AnimationManager.Easing) {
+            EasingTable table = EasingTable.lookup((AnimationManager.Easing) easing, maxError);
+            if (table != null) {
+                easing = table;
+            }
+        }
+    }
+
+    void blend(Blend blend) {
+        if (blend == null) {
+            throw new IllegalArgumentException("blend can not be null");
+        }
+        this.blendMode = blend.code();
+        this.blendWeight = blend.getWeight();
+    }
+
+    void captureCenter(JComponent target) {
+        this.centerX = target.getX() + target.getWidth() / 2.0f;
+        this.centerY = target.getY() + target.getHeight() / 2.0f;
+        this.baseWidth = target.getWidth();
+        this.baseHeight = target.getHeight();
+    }
+}
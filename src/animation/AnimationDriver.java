@@ -0,0 +1,131 @@
+package animation;
+
+/**
+ * Decides when an {@link AnimationManager} runs its frames and what time it is for it (and for its
+ * {@link EventManager}).
+ * <ul>
+ *     <li>{@link #realTime(int)} ticks on its own from a Swing timer with {@code System.nanoTime()}, this is what
+ *     {@code new AnimationManager(interval)} uses</li>
+ *     <li>{@link #shared(int)} ticks from one timer for the whole program together with every other shared manager,
+ *     for programs with many managers (one per window or panel)</li>
+ *     <li>{@link #manual()} only moves when it's told to, so timing can be tested without sleeping</li>
+ *     <li>{@link #external()} is ticked from a render loop that already exists (a game loop, a vsync callback), so
+ *     there isn't a second timer</li>
+ * </ul>
+ * A driver belongs to one manager, pass it to {@link AnimationManager#AnimationManager(AnimationDriver)}.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public abstract class AnimationDriver {
+
+    AnimationDriver() {
+    }
+
+    /**
+     * Drives a manager from a Swing timer in real time, it sleeps while nothing is animating
+     * @param intervalMillis - The time between frames (in ms)
+     * @return the driver
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static AnimationDriver realTime(int intervalMillis) {
+        return new FrameScheduler(intervalMillis);
+    }
+
+    /**
+     * Drives a manager from the one timer all shared managers use, one EDT callback per frame ticks every manager that
+     * is due with the same timestamp. A manager only takes part while it animates or waits for an event
+     * @param intervalMillis - The time between frames (in ms), rounded to a multiple of {@link #getSharedInterval()}
+     * (the base one at the least)
+     * @return the driver
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static AnimationDriver shared(int intervalMillis) {
+        return new SharedDriver(SharedFrameScheduler.INSTANCE, intervalMillis);
+    }
+
+    /**
+     * Sets the base frame interval of the shared timer, every shared manager runs every {@code n}th of its frames.
+     * Takes effect from the next frame
+     * @param intervalMillis - The time between frames (in ms), 16 by default
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void setSharedInterval(int intervalMillis) {
+        SharedFrameScheduler.INSTANCE.setBaseInterval(intervalMillis);
+    }
+
+    /**
+     * @return the base frame interval of the shared timer (in ms)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static int getSharedInterval() {
+        return SharedFrameScheduler.INSTANCE.getBaseInterval();
+    }
+
+    /**
+     * Creates a driver whose time starts at 0 and only moves with {@link ManualDriver#advance(float)}
+     * @return the driver
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static ManualDriver manual() {
+        return new ManualDriver();
+    }
+
+    /**
+     * Creates a driver that runs a frame whenever {@link ExternalDriver#frame()} is called
+     * @return the driver
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static ExternalDriver external() {
+        return new ExternalDriver();
+    }
+
+    /**
+     * @return the current time of this driver in nanoseconds, only differences between two values mean anything
+     */
+    abstract long nanoTime();
+
+    /**
+     * Called once by the manager that is driven
+     */
+    abstract void attach(AnimationManager manager);
+
+    /**
+     * Something was submitted, a driver that sleeps while idle should run a frame soon. Safe to call from any thread
+     */
+    abstract void wake();
+
+    void start() {
+    }
+
+    void stop() {
+    }
+
+    /**
+     * @return true if frames have to come out the same every time, so parallel interpolation is waited for instead
+     * of skipping a frame
+     */
+    boolean waitsForWorkers() {
+        return false;
+    }
+
+    /**
+     * @return how close to its end (in seconds) an animation counts as finished. Only stepped drivers need it, their
+     * fixed float steps add up a little short of the duration
+     */
+    float endTolerance() {
+        return 0f;
+    }
+
+    static AnimationManager checkAttach(AnimationManager current, AnimationManager manager) {
+        if (current != null) {
+            throw new IllegalStateException("driver already drives another manager");
+        }
+        return manager;
+    }
+}
@@ -0,0 +1,34 @@
+package animation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one animation frame, its duration is the time the tick took on the EDT
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+@Name("animation.Frame")
+@Label("Animation Frame")
+@Category({"Swing", "Animation"})
+@Description("One tick of an AnimationManager")
+@StackTrace(false)
+final class AnimationFrameEvent extends jdk.jfr.Event {
+
+    //checked before creating an event, so nothing is allocated unless a recording wants these
+    static final EventType TYPE = EventType.getEventType(AnimationFrameEvent.class);
+
+    @Label("Active Animations")
+    int animations;
+
+    @Label("Events Fired")
+    int eventsFired;
+
+    @Label("Repaint Area")
+    @Description("Pixels sent to the repaint manager")
+    long repaintPixels;
+}
@@ -0,0 +1,157 @@
+package animation;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controls one running animation, returned by the animate* methods of {@link AnimationManager}.
+ * <p>
+ * Every method can be called from any thread. Requests are queued and carried out at the start of the next frame,
+ * each in constant time no matter how many animations are running. An animation that is cancelled before its first
+ * frame never starts.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AnimationHandle {
+
+    private final AnimationManager manager;
+
+    //where the animation lives in the store, -1 when it isn't in it (yet, or anymore). EDT only
+    int slot = -1;
+
+    private volatile boolean cancelRequested;
+    private volatile boolean finishRequested;
+    private volatile boolean paused;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private List<Runnable> onComplete;
+
+    AnimationHandle(AnimationManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Stops the animation where it is, the onComplete callbacks don't run
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void cancel() {
+        if (done) return;
+        cancelRequested = true;
+        manager.control(this);
+    }
+
+    /**
+     * Jumps to the end of the animation on the next frame, then completes it
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void finishNow() {
+        if (done) return;
+        finishRequested = true;
+        manager.control(this);
+    }
+
+    /**
+     * Freezes the animation, it keeps holding its current value
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void pause() {
+        if (done || paused) return;
+        paused = true;
+        manager.control(this);
+    }
+
+    /**
+     * Continues after {@link #pause()}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void resume() {
+        if (done || !paused) return;
+        paused = false;
+        manager.control(this);
+    }
+
+    /**
+     * Runs code once the animation reaches its end (or is finished early with {@link #finishNow()}).
+     * The code runs on the EDT, right away if the animation has already completed
+     * @param action - The code
+     * @return this handle
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle onComplete(Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action can not be null");
+        }
+        synchronized (this) {
+            if (!done) {
+                if (onComplete == null) onComplete = new ArrayList<>(2);
+                onComplete.add(action);
+                return this;
+            }
+        }
+        if (cancelled) return this;
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+        return this;
+    }
+
+    /**
+     * @return true once the animation completed or was cancelled (or replaced by a newer one)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return true if the animation was cancelled, replaced by a newer animation or dropped because its component was
+     * removed from its window or garbage collected
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return true while paused
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    boolean isFinishRequested() {
+        return finishRequested;
+    }
+
+    //called on the EDT when the store drops the animation
+    void complete(boolean wasCancelled) {
+        List<Runnable> actions;
+        synchronized (this) {
+            if (done) return;
+            cancelled = wasCancelled;
+            done = true;
+            actions = onComplete;
+            onComplete = null;
+        }
+        if (wasCancelled || actions == null) return;
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+}
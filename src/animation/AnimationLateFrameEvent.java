@@ -0,0 +1,33 @@
+package animation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a frame that started more than half an interval after its deadline
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+@Name("animation.LateFrame")
+@Label("Late Animation Frame")
+@Category({"Swing", "Animation"})
+@Description("A frame of an AnimationManager that started late, usually because the EDT was busy")
+@StackTrace(false)
+final class AnimationLateFrameEvent extends jdk.jfr.Event {
+
+    //checked before creating an event, so nothing is allocated unless a recording wants these
+    static final EventType TYPE = EventType.getEventType(AnimationLateFrameEvent.class);
+
+    @Label("Lateness")
+    @Timespan(Timespan.NANOSECONDS)
+    long lateness;
+
+    @Label("Dropped Frames")
+    @Description("Whole frames skipped to catch up")
+    long droppedFrames;
+}
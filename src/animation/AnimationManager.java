@@ -3,10 +3,11 @@ package animation;
 import animation.customComponents.AnimatedJComponent;
 
 import javax.swing.*;
-import javax.swing.Timer;
-import java.awt.Dimension;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * The animation manager
@@ -21,49 +22,294 @@ public class AnimationManager {
      * @author Yukurotei
      * @see <a href="https://easings.net">easings</a>
      */
-    public enum Easing {
-        LINEAR,
-        EASE_IN_QUAD,
-        EASE_OUT_QUAD,
-        EASE_IN_OUT_QUAD,
-        EASE_IN_CUBIC,
-        EASE_OUT_CUBIC,
-        EASE_IN_OUT_CUBIC,
-        EASE_IN_SINE,
-        EASE_OUT_SINE,
-        EASE_IN_OUT_SINE,
-        EASE_IN_EXPO,
-        EASE_OUT_EXPO,
-        EASE_IN_OUT_EXPO,
-        EASE_IN_QUART,
-        EASE_OUT_QUART,
-        EASE_IN_OUT_QUART,
-        EASE_IN_QUINT,
-        EASE_OUT_QUINT,
-        EASE_IN_OUT_QUINT,
-        EASE_IN_CIRC,
-        EASE_OUT_CIRC,
-        EASE_IN_OUT_CIRC,
-        EASE_IN_BACK,
-        EASE_OUT_BACK,
-        EASE_IN_OUT_BACK,
-        EASE_IN_ELASTIC,
-        EASE_OUT_ELASTIC,
-        EASE_IN_OUT_ELASTIC,
-        EASE_IN_BOUNCE,
-        EASE_OUT_BOUNCE,
-        EASE_IN_OUT_BOUNCE,
-        EASE_OSCILLATE_1,
-        EASE_OSCILLATE_3,
-        EASE_OSCILLATE_5,
-        EASE_OSCILLATE_INFINITE
-    }
-
-    private final ConcurrentLinkedQueue<Animation> animations = new ConcurrentLinkedQueue<>();
+    public enum Easing implements EasingFunction {
+        LINEAR {
+            @Override
+            public float ease(float t) {
+                return t;
+            }
+        },
+        EASE_IN_QUAD {
+            @Override
+            public float ease(float t) {
+                return t * t;
+            }
+        },
+        EASE_OUT_QUAD {
+            @Override
+            public float ease(float t) {
+                return t * (2 - t);
+            }
+        },
+        EASE_IN_OUT_QUAD {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? 2 * t * t : -1 + (4 - 2 * t) * t;
+            }
+        },
+        EASE_IN_CUBIC {
+            @Override
+            public float ease(float t) {
+                return t * t * t;
+            }
+        },
+        EASE_OUT_CUBIC {
+            @Override
+            public float ease(float t) {
+                return 1 - (float) Math.pow(1 - t, 3);
+            }
+        },
+        EASE_IN_OUT_CUBIC {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? 4 * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 3) / 2;
+            }
+        },
+        EASE_IN_SINE {
+            @Override
+            public float ease(float t) {
+                return 1 - (float) Math.cos((t * Math.PI) / 2);
+            }
+        },
+        EASE_OUT_SINE {
+            @Override
+            public float ease(float t) {
+                return (float) Math.sin((t * Math.PI) / 2);
+            }
+        },
+        EASE_IN_OUT_SINE {
+            @Override
+            public float ease(float t) {
+                return -((float) Math.cos(Math.PI * t) - 1) / 2;
+            }
+        },
+        EASE_IN_EXPO {
+            @Override
+            public float ease(float t) {
+                return t == 0 ? 0 : (float) Math.pow(2, 10 * t - 10);
+            }
+        },
+        EASE_OUT_EXPO {
+            @Override
+            public float ease(float t) {
+                return t == 1 ? 1 : 1 - (float) Math.pow(2, -10 * t);
+            }
+        },
+        EASE_IN_OUT_EXPO {
+            @Override
+            public float ease(float t) {
+                if (t == 0) return 0;
+                if (t == 1) return 1;
+                if (t < 0.5f) return (float) Math.pow(2, 20 * t - 10) / 2;
+                return (2 - (float) Math.pow(2, -20 * t + 10)) / 2;
+            }
+        },
+        EASE_IN_QUART {
+            @Override
+            public float ease(float t) {
+                return t * t * t * t;
+            }
+        },
+        EASE_OUT_QUART {
+            @Override
+            public float ease(float t) {
+                return 1 - (float) Math.pow(1 - t, 4);
+            }
+        },
+        EASE_IN_OUT_QUART {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? 8 * t * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 4) / 2;
+            }
+        },
+        EASE_IN_QUINT {
+            @Override
+            public float ease(float t) {
+                return t * t * t * t * t;
+            }
+        },
+        EASE_OUT_QUINT {
+            @Override
+            public float ease(float t) {
+                return 1 - (float) Math.pow(1 - t, 5);
+            }
+        },
+        EASE_IN_OUT_QUINT {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? 16 * t * t * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 5) / 2;
+            }
+        },
+        EASE_IN_CIRC {
+            @Override
+            public float ease(float t) {
+                return 1 - (float) Math.sqrt(1 - t * t);
+            }
+        },
+        EASE_OUT_CIRC {
+            @Override
+            public float ease(float t) {
+                return (float) Math.sqrt(1 - (float) Math.pow(t - 1, 2));
+            }
+        },
+        EASE_IN_OUT_CIRC {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? (1 - (float) Math.sqrt(1 - (float) Math.pow(2 * t, 2))) / 2
+                        : ((float) Math.sqrt(1 - (float) Math.pow(-2 * t + 2, 2)) + 1) / 2;
+            }
+        },
+        EASE_IN_BACK {
+            @Override
+            public float ease(float t) {
+                final float c1 = 1.70158f;
+                final float c3 = c1 + 1f;
+                return c3 * t * t * t - c1 * t * t;
+            }
+        },
+        EASE_OUT_BACK {
+            @Override
+            public float ease(float t) {
+                final float c1 = 1.70158f;
+                final float c3 = c1 + 1f;
+                return 1 + c3 * (float) Math.pow(t - 1, 3) + c1 * (float) Math.pow(t - 1, 2);
+            }
+        },
+        EASE_IN_OUT_BACK {
+            @Override
+            public float ease(float t) {
+                final float c1 = 1.70158f;
+                final float c2 = c1 * 1.525f;
+                return t < 0.5f
+                        ? ((float) Math.pow(2 * t, 2) * ((c2 + 1) * 2 * t - c2)) / 2
+                        : ((float) Math.pow(2 * t - 2, 2) * ((c2 + 1) * (2 * t - 2) + c2) + 2) / 2;
+            }
+        },
+        EASE_IN_ELASTIC {
+            @Override
+            public float ease(float t) {
+                final float c4 = (2 * (float) Math.PI) / 3;
+                if (t == 0) return 0;
+                if (t == 1) return 1;
+                return -(float) Math.pow(2, 10 * t - 10) * (float) Math.sin((t * 10 - 10.75) * c4);
+            }
+        },
+        EASE_OUT_ELASTIC {
+            @Override
+            public float ease(float t) {
+                final float c4 = (2 * (float) Math.PI) / 3;
+                if (t == 0) return 0;
+                if (t == 1) return 1;
+                return (float) Math.pow(2, -10 * t) * (float) Math.sin((t * 10 - 0.75) * c4) + 1;
+            }
+        },
+        EASE_IN_OUT_ELASTIC {
+            @Override
+            public float ease(float t) {
+                final float c5 = (2 * (float) Math.PI) / 4.5f;
+                if (t == 0) return 0;
+                if (t == 1) return 1;
+                if (t < 0.5f) {
+                    return -((float) Math.pow(2, 20 * t - 10) * (float) Math.sin((20 * t - 11.125) * c5)) / 2;
+                }
+                return ((float) Math.pow(2, -20 * t + 10) * (float) Math.sin((20 * t - 11.125) * c5)) / 2 + 1;
+            }
+        },
+        EASE_IN_BOUNCE {
+            @Override
+            public float ease(float t) {
+                return 1 - easeOutBounce(1 - t);
+            }
+        },
+        EASE_OUT_BOUNCE {
+            @Override
+            public float ease(float t) {
+                return easeOutBounce(t);
+            }
+        },
+        EASE_IN_OUT_BOUNCE {
+            @Override
+            public float ease(float t) {
+                return t < 0.5f ? (1 - easeOutBounce(1 - 2 * t)) / 2 : (1 + easeOutBounce(2 * t - 1)) / 2;
+            }
+        },
+        EASE_OSCILLATE_1 {
+            @Override
+            public float ease(float t) {
+                return (1 - (float) Math.cos(t * 2 * Math.PI)) / 2;
+            }
+        },
+        EASE_OSCILLATE_3 {
+            @Override
+            public float ease(float t) {
+                return (1 - (float) Math.cos(t * 3 * 2 * Math.PI)) / 2;
+            }
+        },
+        EASE_OSCILLATE_5 {
+            @Override
+            public float ease(float t) {
+                return (1 - (float) Math.cos(t * 5 * 2 * Math.PI)) / 2;
+            }
+        },
+        EASE_OSCILLATE_INFINITE {
+            @Override
+            public float ease(float t) {
+                return (1 - (float) Math.cos(t * 9999 * 2 * Math.PI)) / 2;
+            }
+        };
+
+        private static float easeOutBounce(float t) {
+            final float n1 = 7.5625f;
+            final float d1 = 2.75f;
+
+            if (t < 1f / d1) {
+                return n1 * t * t;
+            } else if (t < 2f / d1) {
+                t -= 1.5f / d1;
+                return n1 * t * t + 0.75f;
+            } else if (t < 2.5f / d1) {
+                t -= 2.25f / d1;
+                return n1 * t * t + 0.9375f;
+            } else {
+                t -= 2.625f / d1;
+                return n1 * t * t + 0.984375f;
+            }
+        }
+    }
+
+    private final AnimationStore store = new AnimationStore();
+    private final CommandQueue commands = new CommandQueue();
+    private final ConcurrentLinkedQueue<AnimationHandle> controls = new ConcurrentLinkedQueue<>();
+    private volatile boolean supersede = false;
     private final EventManager eventManager;
-    private final Timer timer;
+    private final AnimationDriver driver;
+    //workers are always waited for instead of skipping a frame, so stepped frames are reproducible
+    private final boolean waitForWorkers;
+    private volatile boolean easingTables = false;
+    private volatile float easingTableMaxError = EasingTable.DEFAULT_MAX_ERROR;
+    //the manager's clock is the driver's time minus base, frozen at stoppedAt (-1 while running) so nothing comes due
+    //while it's stopped. start() moves base forward by the time it spent stopped
+    private volatile long base;
+    private volatile long stoppedAt = -1;
     private long lastUpdate;
-    private float currentTotalTime = 0;
+    private boolean animatedLastFrame;
+
+    //Timelines handed to play() since the last tick, and the ones playing (EDT only)
+    private final ConcurrentLinkedQueue<Timeline> playQueue = new ConcurrentLinkedQueue<>();
+    private final List<Timeline> timelines = new ArrayList<>();
+
+    //Two frames so workers can fill one while the EDT applies the other
+    private final FrameBuffer[] frames = { new FrameBuffer(), new FrameBuffer() };
+    private int backFrame;
+    private ForkJoinTask<?> inFlight;
+    private volatile boolean parallelInterpolation = false;
+    private volatile int parallelThreshold = 4096;
+    private volatile ForkJoinPool parallelPool = ForkJoinPool.commonPool();
+
+    private final AnimationStats stats = new AnimationStats();
+    private long lastRepaintPixels;
+    private long lastEventsFired;
+    private boolean measuredLastTick;
 
     // Default constructor
     /**
@@ -77,110 +323,369 @@ public class AnimationManager {
 
     // Constructor with custom update interval
     /**
-     * Creates an animation manager that updates at the rate that is specified
+     * Creates an animation manager that updates at the rate that is specified.
+     * While nothing is animating the manager sleeps until the next event is due or something new is animated
      * @param updateInterval - The rate in ms at which the manager updates (shorter = smoother BUT = more resources used)
      * @since 1.0.0
      * @author Yukurotei
      */
     public AnimationManager(int updateInterval) {
-        this.eventManager = new EventManager();
-        lastUpdate = System.nanoTime();
-        timer = new Timer(updateInterval, e -> update());
-        timer.start();
+        this(AnimationDriver.realTime(updateInterval));
+    }
+
+    /**
+     * Creates an animation manager that runs its frames (and takes its time) from a driver, for example
+     * {@link AnimationDriver#manual()} for tests, {@link AnimationDriver#external()} to tick from a render loop or
+     * {@link AnimationDriver#shared(int)} to share one timer with the program's other managers
+     * @param driver - The driver, it can only drive one manager
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationManager(AnimationDriver driver) {
+        if (driver == null) {
+            throw new IllegalArgumentException("driver can not be null");
+        }
+        driver.attach(this);
+        this.driver = driver;
+        base = driver.nanoTime();
+        this.eventManager = new EventManager(() -> elapsed(driver.nanoTime()));
+        this.eventManager.setOnChange(this::wake);
+        waitForWorkers = driver.waitsForWorkers();
+        store.setEndTolerance(driver.endTolerance());
+        driver.start();
     }
     /**
-     * Restarts the animation manager
+     * Restarts the animation manager. Its clock picks up where {@link #stop()} left it, so animations continue from
+     * where they were and events are still as far away as they were when it stopped
      * @since 1.0.0
      * @author MEME-KING16
      */
-    public void start() {
-        timer.start();
+    public synchronized void start() {
+        long stopped = stoppedAt;
+        if (stopped >= 0) {
+            base = driver.nanoTime() - stopped;
+            stoppedAt = -1;
+        }
+        driver.start();
     }
     /**
-     * Stops the animation manager
+     * Stops the animation manager. Its clock stops with it, nothing moves and no event comes due until it's started
+     * again
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void stop() {
-        timer.stop();
+    public synchronized void stop() {
+        if (stoppedAt < 0) {
+            stoppedAt = driver.nanoTime() - base;
+        }
+        driver.stop();
     }
 
-    private void update() {
-        long now = System.nanoTime();
-        float delta = (now - lastUpdate) / 1_000_000_000.0f;
-        lastUpdate = now;
-        currentTotalTime += delta;
+    //the manager's time at the given driver time
+    private long elapsed(long driverNanos) {
+        long stopped = stoppedAt;
+        return stopped >= 0 ? stopped : driverNanos - base;
+    }
+
+    private AnimationHandle submit(AnimationCommand command) {
+        AnimationHandle handle = new AnimationHandle(this);
+        command.handle = handle;
+        command.supersede = supersede;
+        commands.push(command);
+        wake();
+        return handle;
+    }
+
+    //a handle asked for something, carried out at the start of the next frame
+    void control(AnimationHandle handle) {
+        controls.add(handle);
+        wake();
+    }
 
-        List<Animation> currentAnimations = new ArrayList<>(animations);
+    /**
+     * Makes a new animation replace the running animations of its component that only touch properties it sets
+     * (a new move replaces the old move, but not a fade or a scale), instead of running on underneath it.
+     * Replaced animations end as cancelled. Additive and weighted animations never replace anything.
+     * Only affects animations started after the call
+     * @param enabled - true to replace
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setSupersedeAnimations(boolean enabled) {
+        this.supersede = enabled;
+    }
 
-        //group anims together by component (I LOVE HASH MAP)
-        Map<JComponent, List<Animation>> animationsByTarget = new HashMap<>();
-        for (Animation anim : currentAnimations) {
-            if (!anim.isFinished()) {
-                animationsByTarget.computeIfAbsent(anim.getTarget(), k -> new ArrayList<>()).add(anim);
+    /**
+     * Do new animations replace the older ones of the same property
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isSupersedeAnimations() {
+        return supersede;
+    }
+
+    /**
+     * Runs one frame that had no deadline, called by the driver on the EDT
+     * @param now - The frame time from the driver's clock
+     */
+    void tick(long now) {
+        tick(now, now, 0);
+    }
+
+    /**
+     * Runs one frame, called by the driver on the EDT
+     * @param now - The frame time from the driver's clock
+     * @param deadline - When the frame was due, for the lateness stats
+     * @param intervalNanos - The frame interval the driver runs at, 0 if it has none
+     */
+    void tick(long now, long deadline, long intervalNanos) {
+        boolean recording = stats.isEnabled();
+        AnimationFrameEvent event = AnimationFrameEvent.TYPE.isEnabled() ? new AnimationFrameEvent() : null;
+        if (!recording && event == null) {
+            measuredLastTick = false;
+            runFrame(now);
+            return;
+        }
+        if (!measuredLastTick) {
+            //counters kept going while nobody measured, start the deltas from here
+            lastEventsFired = eventManager.getFiredCount();
+            lastRepaintPixels = store.getDirtyRegions().getRequestedPixels();
+            measuredLastTick = true;
+        }
+        if (recording) {
+            stats.recordFrameStart(now, deadline, intervalNanos);
+        }
+
+        if (event != null) event.begin();
+        long began = System.nanoTime();
+        runFrame(now);
+        long nanos = System.nanoTime() - began;
+        int animations = store.size();
+        long pixels = store.getDirtyRegions().getRequestedPixels();
+        long fired = eventManager.getFiredCount();
+        int events = (int) (fired - lastEventsFired);
+        long repainted = pixels - lastRepaintPixels;
+        lastEventsFired = fired;
+        lastRepaintPixels = pixels;
+        if (recording) {
+            stats.recordTick(nanos, animations, events, repainted);
+        }
+        if (event != null) {
+            event.end();
+            event.animations = animations;
+            event.eventsFired = events;
+            event.repaintPixels = repainted;
+            event.commit();
+        }
+    }
+
+    private void runFrame(long driverNow) {
+        long now = elapsed(driverNow);
+        FrameBuffer ready = null;
+        if (inFlight != null) {
+            if (!inFlight.isDone() && !waitForWorkers) {
+                //workers are still interpolating, leave the EDT alone and pick the frame up next tick
+                eventManager.update(now);
+                return;
             }
+            ForkJoinTask<?> task = inFlight;
+            inFlight = null;
+            task.join();
+            ready = frames[backFrame];
+            backFrame ^= 1;
+            store.removeFinished();
         }
 
+        //after an idle stretch nothing was running, so new animations start from their first frame
+        float delta = animatedLastFrame ? (now - lastUpdate) / 1_000_000_000.0f : 0f;
+        lastUpdate = now;
+
+        Timeline played = playQueue.poll();
+        while (played != null) {
+            timelines.add(played);
+            played = playQueue.poll();
+        }
+        //timelines go first, so animations started with animateX() win over them for the same property
+        boolean timelinesRunning = !timelines.isEmpty() && advanceTimelines(delta);
+
+        //everything submitted since the last tick, in one pass
+        AnimationCommand command = commands.drain();
+        while (command != null) {
+            AnimationCommand next = command.next;
+            command.next = null;
+            store.add(command);
+            command = next;
+        }
+        AnimationHandle handle = controls.poll();
+        while (handle != null) {
+            store.control(handle);
+            handle = controls.poll();
+        }
+        store.reclaim();
+        store.dropDetached();
+
         //iterate through and apply all anims at the same time to resolve conflicts
-        for (Map.Entry<JComponent, List<Animation>> entry : animationsByTarget.entrySet()) {
-            JComponent target = entry.getKey();
-            List<Animation> targetAnims = entry.getValue();
-
-            // Update all animations and collect their results
-            Float finalX = null, finalY = null;
-            Integer finalWidth = null, finalHeight = null;
-            Float finalOpacity = null;
-            Float finalRotation = null;
-
-            for (Animation anim : targetAnims) {
-                anim.updateInternal(delta);
-
-                AnimationState state = anim.getCurrentState();
-                if (state.hasPosition) {
-                    finalX = state.x;
-                    finalY = state.y;
-                }
-                if (state.hasSize) {
-                    finalWidth = state.width;
-                    finalHeight = state.height;
-                }
-                if (state.hasOpacity) {
-                    finalOpacity = state.opacity;
-                }
-                if (state.hasRotation) {
-                    finalRotation = state.rotation;
-                }
-            }
+        FrameBuffer back = frames[backFrame];
+        if (parallelInterpolation && store.size() >= parallelThreshold) {
+            inFlight = store.stepParallel(delta, back, parallelPool);
+        } else {
+            store.step(delta, back);
+        }
+        //the previous parallel frame goes out while the workers compute the next one
+        if (ready != null) {
+            store.apply(ready);
+        }
+        if (inFlight == null) {
+            store.apply(back);
+            store.removeFinished();
+        }
+        store.getDirtyRegions().flush();
+        animatedLastFrame = !store.isEmpty() || inFlight != null || timelinesRunning;
 
-            //apply all change
-            if (finalWidth != null) {
-                if (finalX != null) {
-                    target.setBounds(finalX.intValue(), finalY.intValue(), finalWidth, finalHeight);
-                } else {
-                    target.setSize(finalWidth, finalHeight);
-                }
-            } else if (finalX != null) {
-                target.setLocation(finalX.intValue(), finalY.intValue());
-            }
+        eventManager.update(now);
+    }
 
-            if (finalOpacity != null) {
-                target.putClientProperty("animation.opacity", finalOpacity);
-                target.repaint();
+    /**
+     * Advances every playing timeline and applies what it changed
+     * @return true if a timeline still needs frames
+     */
+    private boolean advanceTimelines(float delta) {
+        boolean running = false;
+        for (int i = 0; i < timelines.size(); ) {
+            Timeline timeline = timelines.get(i);
+            if (timeline.isStopRequested()) {
+                timelines.remove(i);
+                timeline.detach();
+                continue;
             }
-
-            if (finalRotation != null) {
-                target.putClientProperty("animation.rotation", finalRotation);
-                if (target.getParent() != null) {
-                    target.getParent().repaint();
-                } else {
-                    target.repaint();
-                }
+            if (!timeline.needsFrames()) {
+                //paused, costs nothing until it's resumed
+                i++;
+                continue;
+            }
+            store.apply(timeline.advance(delta));
+            if (timeline.reachedEnd()) {
+                timelines.remove(i);
+                timeline.detach();
+                Runnable onFinished = timeline.getOnFinished();
+                if (onFinished != null) onFinished.run();
+                continue;
             }
+            running |= timeline.needsFrames();
+            i++;
+        }
+        return running;
+    }
+
+    /**
+     * Tells the driver when it has to run next
+     * @return -1 if animations are running or queued, otherwise the System.nanoTime() at which the next event is due
+     * (Long.MAX_VALUE when no event is pending)
+     */
+    long idleUntil() {
+        if (inFlight != null || !store.isEmpty() || !commands.isEmpty() || !controls.isEmpty()
+                || !playQueue.isEmpty()) return -1;
+        for (int i = 0; i < timelines.size(); i++) {
+            if (timelines.get(i).needsFrames()) return -1;
         }
+        long next = eventManager.nextTriggerNanos();
+        //stopped, nothing comes due until it's started again
+        if (next == Long.MAX_VALUE || stoppedAt >= 0) return Long.MAX_VALUE;
+        return base + next;
+    }
 
-        currentAnimations.stream().filter(Animation::isFinished).forEach(animations::remove);
+    /**
+     * @return true if animations, controls or timelines were submitted since the last frame
+     */
+    boolean hasSubmissions() {
+        return !commands.isEmpty() || !controls.isEmpty() || !playQueue.isEmpty();
+    }
+
+    void wake() {
+        driver.wake();
+    }
+
+    /**
+     * Get the driver that runs this manager's frames
+     * @return AnimationDriver
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationDriver getDriver() {
+        return driver;
+    }
 
-        eventManager.update(currentTotalTime);
+    /**
+     * Get the frame-time metrics of this manager, they only record while enabled
+     * @return AnimationStats
+     * @since 1.1.0
+     * @author Yukurotei
+     * @see #setInstrumentation(boolean)
+     */
+    public AnimationStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Turns recording of frame-time metrics on or off (off by default), same as {@code getStats().setEnabled()}
+     * @param enabled - true to record
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setInstrumentation(boolean enabled) {
+        stats.setEnabled(enabled);
+    }
+
+    /**
+     * Switches easing evaluation between the exact formulas and shared precomputed lookup tables.
+     * Tables are sampled with linear interpolation and are built lazily the first time an easing is used.
+     * Only affects animations started after the call
+     * @param enabled - true to use lookup tables
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setEasingLookupTables(boolean enabled) {
+        this.easingTables = enabled;
+    }
+
+    /**
+     * Is lookup table easing enabled
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isEasingLookupTables() {
+        return easingTables;
+    }
+
+    /**
+     * Sets how far a lookup table may stray from the exact easing curve (default 0.001, in eased progress units).
+     * Smaller bounds build finer tables, and easings that can't meet the bound keep using the exact formula
+     * @param maxError - The maximum absolute error, must be positive
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setEasingLookupMaxError(float maxError) {
+        if (!(maxError > 0)) {
+            throw new IllegalArgumentException("maxError must be positive");
+        }
+        this.easingTableMaxError = maxError;
+    }
+
+    /**
+     * Forces an easing to always use its exact formula, even with lookup tables enabled.
+     * EASE_OSCILLATE_INFINITE is exact by default since a table can't follow its 9999 cycles
+     * @param easing - The easing
+     * @param exact - true to never use a table for it
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void setExactEasing(Easing easing, boolean exact) {
+        if (easing == null) {
+            throw new IllegalArgumentException("easing can not be null");
+        }
+        EasingTable.setExact(easing, exact);
     }
 
     /**
@@ -189,14 +694,36 @@ public class AnimationManager {
      * @param toX - The new x
      * @param toY - The new y
      * @param duration - The duration of the animation (in seconds)
-     * @param easing - The easing
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @return a handle to control the animation
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void animateMove(JComponent target, float toX, float toY, float duration, Easing easing) {
-        Animation anim = new Animation();
-        anim.initMove(target, toX, toY, duration, easing);
-        animations.add(anim);
+    public AnimationHandle animateMove(JComponent target, float toX, float toY, float duration, EasingFunction easing) {
+        return animateMove(target, toX, toY, duration, easing, Blend.OVERRIDE);
+    }
+
+    /**
+     * Move a JComponent with an easing, combined with the other animations of the component
+     * @param target - The JComponent
+     * @param toX - The new x
+     * @param toY - The new y
+     * @param duration - The duration of the animation (in seconds)
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @param blend - How it combines with animations of the component started before it
+     * @return a handle to control the animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle animateMove(JComponent target, float toX, float toY, float duration, EasingFunction easing, Blend blend) {
+        AnimationCommand command = new AnimationCommand(AnimationStore.MOVE, target, duration, easing);
+        command.startA = target.getX();
+        command.startB = target.getY();
+        command.endA = toX;
+        command.endB = toY;
+        command.blend(blend);
+        command.useTable(easingTables, easingTableMaxError);
+        return submit(command);
     }
 
     /**
@@ -204,18 +731,37 @@ public class AnimationManager {
      * @param target - The AnimatedJComponent
      * @param toOpacity - The new opacity (0-1)
      * @param duration - The duration of the animation (in seconds)
-     * @param easing - The easing
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @return a handle to control the animation
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void animateFade(AnimatedJComponent target, float toOpacity, float duration, Easing easing) {
+    public AnimationHandle animateFade(AnimatedJComponent target, float toOpacity, float duration, EasingFunction easing) {
+        return animateFade(target, toOpacity, duration, easing, Blend.OVERRIDE);
+    }
+
+    /**
+     * Fade an AnimatedJComponent with an easing, combined with the other animations of the component
+     * @param target - The AnimatedJComponent
+     * @param toOpacity - The new opacity (0-1)
+     * @param duration - The duration of the animation (in seconds)
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @param blend - How it combines with animations of the component started before it
+     * @return a handle to control the animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle animateFade(AnimatedJComponent target, float toOpacity, float duration, EasingFunction easing, Blend blend) {
         //Implemented with AlphaComposite
         if (target == null) {
             throw new IllegalArgumentException("target can not be null");
         }
-        Animation anim = new Animation();
-        anim.initFade((JComponent) target, toOpacity, duration, easing);
-        animations.add(anim);
+        AnimationCommand command = new AnimationCommand(AnimationStore.FADE, (JComponent) target, duration, easing);
+        command.startA = target.getAnimationState().getOpacity();
+        command.endA = toOpacity;
+        command.blend(blend);
+        command.useTable(easingTables, easingTableMaxError);
+        return submit(command);
     }
 
     /**
@@ -224,14 +770,37 @@ public class AnimationManager {
      * @param toScaleXPercentage - The new x scale in DECIMAL PERCENTAGE (1 is 100%, 0.1 is 10%, so on)
      * @param toScaleYPercentage - The new y scale in DECIMAL PERCENTAGE (1 is 100%, 0.1 is 10%, so on)
      * @param duration - The duration of the animation (in seconds)
-     * @param easing - The easing
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @return a handle to control the animation
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void animateScale(JComponent target, float toScaleXPercentage, float toScaleYPercentage, float duration, Easing easing) {
-        Animation anim = new Animation();
-        anim.initScale(target, toScaleXPercentage, toScaleYPercentage, duration, easing);
-        animations.add(anim);
+    public AnimationHandle animateScale(JComponent target, float toScaleXPercentage, float toScaleYPercentage, float duration, EasingFunction easing) {
+        return animateScale(target, toScaleXPercentage, toScaleYPercentage, duration, easing, Blend.OVERRIDE);
+    }
+
+    /**
+     * Change the scale of a JComponent with an easing, combined with the other animations of the component
+     * @param target - The JComponent
+     * @param toScaleXPercentage - The new x scale in DECIMAL PERCENTAGE (1 is 100%, 0.1 is 10%, so on)
+     * @param toScaleYPercentage - The new y scale in DECIMAL PERCENTAGE (1 is 100%, 0.1 is 10%, so on)
+     * @param duration - The duration of the animation (in seconds)
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @param blend - How it combines with animations of the component started before it
+     * @return a handle to control the animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle animateScale(JComponent target, float toScaleXPercentage, float toScaleYPercentage, float duration, EasingFunction easing, Blend blend) {
+        AnimationCommand command = new AnimationCommand(AnimationStore.SCALE, target, duration, easing);
+        command.captureCenter(target);
+        command.startA = 1f;
+        command.startB = 1f;
+        command.endA = toScaleXPercentage;
+        command.endB = toScaleYPercentage;
+        command.blend(blend);
+        command.useTable(easingTables, easingTableMaxError);
+        return submit(command);
     }
 
     /**
@@ -239,313 +808,173 @@ public class AnimationManager {
      * @param target - The AnimatedJComponent
      * @param toRotationDegrees - The amount of degrees to rotate
      * @param duration - The duration of the animation (in seconds)
-     * @param easing - The easing
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @return a handle to control the animation
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void animateRotation(AnimatedJComponent target, float toRotationDegrees, float duration, Easing easing) {
+    public AnimationHandle animateRotation(AnimatedJComponent target, float toRotationDegrees, float duration, EasingFunction easing) {
+        return animateRotation(target, toRotationDegrees, duration, easing, Blend.OVERRIDE);
+    }
+
+    /**
+     * Rotate the AnimatedJComponent with an easing, combined with the other animations of the component
+     * @param target - The AnimatedJComponent
+     * @param toRotationDegrees - The amount of degrees to rotate
+     * @param duration - The duration of the animation (in seconds)
+     * @param easing - The easing, any {@link Easing} or other {@link EasingFunction} such as a {@link CubicBezier}
+     * @param blend - How it combines with animations of the component started before it
+     * @return a handle to control the animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle animateRotation(AnimatedJComponent target, float toRotationDegrees, float duration, EasingFunction easing, Blend blend) {
         //Graphics2D.rotate(), manual paint
         if (target == null) {
             throw new IllegalArgumentException("target can not be null");
         }
-        Animation anim = new Animation();
-        anim.initRotation((JComponent) target, toRotationDegrees, duration, easing);
-        animations.add(anim);
+        AnimationCommand command = new AnimationCommand(AnimationStore.ROTATION, (JComponent) target, duration, easing);
+        command.startA = target.getAnimationState().getRotation();
+        command.endA = (float) Math.toRadians(toRotationDegrees);
+        command.captureCenter((JComponent) target);
+        command.blend(blend);
+        command.useTable(easingTables, easingTableMaxError);
+        return submit(command);
     }
 
     /**
-     * Get the Event Manager
-     * @return EventManager
-     * @since 1.0.0
+     * Play keyframe tracks on a JComponent, each track animating one property.
+     * Properties without a track are left alone, and the animation lasts until the last key of the longest track
+     * @param target - The JComponent, opacity and rotation only show on an {@link AnimatedJComponent}
+     * @param tracks - The tracks, see {@link KeyframeTrack}
+     * @return a handle to control the animation
+     * @since 1.1.0
      * @author Yukurotei
      */
-    public EventManager getEventManager() {
-        return eventManager;
+    public AnimationHandle animateKeyframes(JComponent target, KeyframeTrack... tracks) {
+        return animateKeyframes(target, Blend.OVERRIDE, tracks);
     }
 
-    private static class AnimationState {
-        boolean hasPosition = false;
-        float x, y;
-
-        boolean hasSize = false;
-        int width, height;
-
-        boolean hasOpacity = false;
-        float opacity;
-
-        boolean hasRotation = false;
-        float rotation;
-    }
-
-    private static class Animation {
-        private enum AnimationType {
-            MOVE, SCALE, FADE, ROTATION
-        }
-
-        private JComponent target;
-        private AnimationType type;
-        private Easing easing;
-        private float duration;
-        private float time;
-
-        //Position
-        private float startX, startY;
-        private float toX, toY;
-
-        //Scale
-        private Dimension startSize;
-        private float startCenterX, startCenterY; // Store center point for scale
-        private float toScaleX, toScaleY;
-
-        //Opacity
-        private float startOpacity;
-        private float toOpacity;
-
-        //Rotation
-        private float startRotation;
-        private float toRotation;
-
-        public JComponent getTarget() {
-            return target;
-        }
-
-        public void initMove(JComponent target, float toX, float toY, float duration, Easing easing) {
-            this.target = target;
-            this.type = AnimationType.MOVE;
-            this.duration = duration;
-            this.easing = easing;
-            this.time = 0;
-
-            this.startX = target.getX();
-            this.startY = target.getY();
-            this.toX = toX;
-            this.toY = toY;
-        }
-
-        public void initScale(JComponent target, float toScaleX, float toScaleY, float duration, Easing easing) {
-            this.target = target;
-            this.type = AnimationType.SCALE;
-            this.duration = duration;
-            this.easing = easing;
-            this.time = 0;
-
-            this.startSize = target.getSize();
-            this.startCenterX = target.getX() + target.getWidth() / 2.0f;
-            this.startCenterY = target.getY() + target.getHeight() / 2.0f;
-            this.toScaleX = toScaleX;
-            this.toScaleY = toScaleY;
+    /**
+     * Play keyframe tracks on a JComponent, combined with the other animations of the component.
+     * Additive tracks add how far they are from their first key
+     * @param target - The JComponent, opacity and rotation only show on an {@link AnimatedJComponent}
+     * @param blend - How it combines with animations of the component started before it
+     * @param tracks - The tracks, see {@link KeyframeTrack}
+     * @return a handle to control the animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationHandle animateKeyframes(JComponent target, Blend blend, KeyframeTrack... tracks) {
+        if (target == null) {
+            throw new IllegalArgumentException("target can not be null");
         }
-
-        public void initFade(JComponent target, float toOpacity, float duration, Easing easing) {
-            this.target = target;
-            this.type = AnimationType.FADE;
-            this.duration = duration;
-            this.easing = easing;
-            this.time = 0;
-
-            Object prop = target.getClientProperty("animation.opacity");
-            this.startOpacity = (prop instanceof Float) ? (Float) prop : 1f;
-            this.toOpacity = toOpacity;
+        if (tracks == null || tracks.length == 0) {
+            throw new IllegalArgumentException("tracks can not be empty");
         }
-
-        public void initRotation(JComponent target, float toRotationDegrees, float duration, Easing easing) {
-            this.target = target;
-            this.type = AnimationType.ROTATION;
-            this.duration = duration;
-            this.easing = easing;
-            this.time = 0;
-
-            Object prop = target.getClientProperty("animation.rotation");
-            this.startRotation = (prop instanceof Float) ? (Float) prop : 0f;
-            this.toRotation = (float) Math.toRadians(toRotationDegrees);
-
-            this.startCenterX = target.getX() + target.getWidth() / 2.0f;
-            this.startCenterY = target.getY() + target.getHeight() / 2.0f;
-            this.startSize = target.getSize();
+        float duration = 0f;
+        for (KeyframeTrack track : tracks) {
+            if (track == null) {
+                throw new IllegalArgumentException("tracks can not contain null");
+            }
+            track.freeze();
+            duration = Math.max(duration, track.getDuration());
         }
+        AnimationCommand command = new AnimationCommand(AnimationStore.KEYFRAMES, target, duration, Easing.LINEAR);
+        command.tracks = tracks.clone();
+        command.blend(blend);
+        command.startA = target.getX();
+        command.startB = target.getY();
+        command.baseWidth = target.getWidth();
+        command.baseHeight = target.getHeight();
+        return submit(command);
+    }
 
-        public void updateInternal(float delta) {
-            if (isFinished()) return;
-
-            time += delta;
-            if (time > duration) time = duration;
+    /**
+     * Starts playing a compiled timeline on the next frame.
+     * A timeline plays on one manager at a time, once it finishes (or is stopped) it can be played again
+     * @param timeline - The timeline, see {@link Timeline#compile(Timeline.Part)}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void play(Timeline timeline) {
+        if (timeline == null) {
+            throw new IllegalArgumentException("timeline can not be null");
         }
+        timeline.attach(this);
+        playQueue.add(timeline);
+        wake();
+    }
 
-        public AnimationState getCurrentState() {
-            AnimationState state = new AnimationState();
-
-            float progress = Math.min(1f, time / duration);
-            float easedProgress = applyEasing(progress);
-
-            switch (type) {
-                case MOVE:
-                    state.hasPosition = true;
-                    state.x = startX + (toX - startX) * easedProgress;
-                    state.y = startY + (toY - startY) * easedProgress;
-                    break;
-
-                case SCALE:
-                    float currentScaleX = 1.0f + (toScaleX - 1.0f) * easedProgress;
-                    float currentScaleY = 1.0f + (toScaleY - 1.0f) * easedProgress;
-
-                    int newWidth = (int) (startSize.width * currentScaleX);
-                    int newHeight = (int) (startSize.height * currentScaleY);
-
-                    float newX = startCenterX - newWidth / 2.0f;
-                    float newY = startCenterY - newHeight / 2.0f;
-
-                    state.hasPosition = true;
-                    state.x = newX;
-                    state.y = newY;
-                    state.hasSize = true;
-                    state.width = newWidth;
-                    state.height = newHeight;
-                    break;
-
-                case FADE:
-                    state.hasOpacity = true;
-                    state.opacity = startOpacity + (toOpacity - startOpacity) * easedProgress;
-                    break;
-
-                case ROTATION:
-                    state.hasRotation = true;
-                    state.rotation = startRotation + (toRotation - startRotation) * easedProgress;
-
-                    state.hasPosition = true;
-                    state.x = startCenterX - startSize.width / 2.0f;
-                    state.y = startCenterY - startSize.height / 2.0f;
-                    break;
-            }
+    /**
+     * Moves easing and interpolation of large animation sets off the EDT.
+     * When enabled and at least {@link #setParallelThreshold(int) threshold} animations are running, each tick splits
+     * the targets into chunks that are interpolated on a fork/join pool into one of two frame buffers, while the EDT
+     * only applies the previously finished buffer (bounds, opacity, rotation). Results reach the screen one tick later,
+     * and if the workers haven't finished by the next tick that frame is skipped rather than blocking the EDT
+     * @param enabled - true to interpolate in parallel
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setParallelInterpolation(boolean enabled) {
+        this.parallelInterpolation = enabled;
+    }
 
-            return state;
-        }
+    /**
+     * Is parallel interpolation enabled
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isParallelInterpolation() {
+        return parallelInterpolation;
+    }
 
-        public boolean isFinished() {
-            return time >= duration;
+    /**
+     * Sets how many running animations it takes before interpolation moves to the pool (default 4096),
+     * below it the handoff costs more than it saves
+     * @param animations - The threshold
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setParallelThreshold(int animations) {
+        if (animations < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1");
         }
+        this.parallelThreshold = animations;
+    }
 
-        private float applyEasing(float t) {
-            switch (easing) {
-                case EASE_IN_QUAD:
-                    return t * t;
-                case EASE_OUT_QUAD:
-                    return t * (2 - t);
-                case EASE_IN_OUT_QUAD:
-                    return t < 0.5f ? 2 * t * t : -1 + (4 - 2 * t) * t;
-                case EASE_IN_CUBIC:
-                    return t * t * t;
-                case EASE_OUT_CUBIC:
-                    return 1 - (float) Math.pow(1 - t, 3);
-                case EASE_IN_OUT_CUBIC:
-                    return t < 0.5f ? 4 * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 3) / 2;
-                case EASE_IN_SINE:
-                    return 1 - (float) Math.cos((t * Math.PI) / 2);
-                case EASE_OUT_SINE:
-                    return (float) Math.sin((t * Math.PI) / 2);
-                case EASE_IN_OUT_SINE:
-                    return -((float) Math.cos(Math.PI * t) - 1) / 2;
-                case EASE_IN_EXPO:
-                    return t == 0 ? 0 : (float) Math.pow(2, 10 * t - 10);
-                case EASE_OUT_EXPO:
-                    return t == 1 ? 1 : 1 - (float) Math.pow(2, -10 * t);
-                case EASE_IN_OUT_EXPO:
-                    if (t == 0) return 0;
-                    if (t == 1) return 1;
-                    if (t < 0.5f) return (float) Math.pow(2, 20 * t - 10) / 2;
-                    return (2 - (float) Math.pow(2, -20 * t + 10)) / 2;
-                case EASE_IN_QUART:
-                    return t * t * t * t;
-                case EASE_OUT_QUART:
-                    return 1 - (float) Math.pow(1 - t, 4);
-                case EASE_IN_OUT_QUART:
-                    return t < 0.5f ? 8 * t * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 4) / 2;
-                case EASE_IN_QUINT:
-                    return t * t * t * t * t;
-                case EASE_OUT_QUINT:
-                    return 1 - (float) Math.pow(1 - t, 5);
-                case EASE_IN_OUT_QUINT:
-                    return t < 0.5f ? 16 * t * t * t * t * t : 1 - (float) Math.pow(-2 * t + 2, 5) / 2;
-                case EASE_IN_CIRC:
-                    return 1 - (float) Math.sqrt(1 - t * t);
-                case EASE_OUT_CIRC:
-                    return (float) Math.sqrt(1 - (float) Math.pow(t - 1, 2));
-                case EASE_IN_OUT_CIRC:
-                    return t < 0.5f ? (1 - (float) Math.sqrt(1 - (float) Math.pow(2 * t, 2))) / 2
-                            : ((float) Math.sqrt(1 - (float) Math.pow(-2 * t + 2, 2)) + 1) / 2;
-                case EASE_IN_BACK: {
-                    final float c1 = 1.70158f;
-                    final float c3 = c1 + 1f;
-                    return c3 * t * t * t - c1 * t * t;
-                }
-                case EASE_OUT_BACK: {
-                    final float c1 = 1.70158f;
-                    final float c3 = c1 + 1f;
-                    return 1 + c3 * (float) Math.pow(t - 1, 3) + c1 * (float) Math.pow(t - 1, 2);
-                }
-                case EASE_IN_OUT_BACK: {
-                    final float c1 = 1.70158f;
-                    final float c2 = c1 * 1.525f;
-                    return t < 0.5f
-                            ? ((float) Math.pow(2 * t, 2) * ((c2 + 1) * 2 * t - c2)) / 2
-                            : ((float) Math.pow(2 * t - 2, 2) * ((c2 + 1) * (2 * t - 2) + c2) + 2) / 2;
-                }
-                case EASE_IN_ELASTIC: {
-                    final float c4 = (2 * (float) Math.PI) / 3;
-                    if (t == 0) return 0;
-                    if (t == 1) return 1;
-                    return -(float) Math.pow(2, 10 * t - 10) * (float) Math.sin((t * 10 - 10.75) * c4);
-                }
-                case EASE_OUT_ELASTIC: {
-                    final float c4 = (2 * (float) Math.PI) / 3;
-                    if (t == 0) return 0;
-                    if (t == 1) return 1;
-                    return (float) Math.pow(2, -10 * t) * (float) Math.sin((t * 10 - 0.75) * c4) + 1;
-                }
-                case EASE_IN_OUT_ELASTIC: {
-                    final float c5 = (2 * (float) Math.PI) / 4.5f;
-                    if (t == 0) return 0;
-                    if (t == 1) return 1;
-                    if (t < 0.5f) {
-                        return -((float) Math.pow(2, 20 * t - 10) * (float) Math.sin((20 * t - 11.125) * c5)) / 2;
-                    }
-                    return ((float) Math.pow(2, -20 * t + 10) * (float) Math.sin((20 * t - 11.125) * c5)) / 2 + 1;
-                }
-                case EASE_IN_BOUNCE:
-                    return 1 - easeOutBounce(1 - t);
-                case EASE_OUT_BOUNCE:
-                    return easeOutBounce(t);
-                case EASE_IN_OUT_BOUNCE:
-                    return t < 0.5f ? (1 - easeOutBounce(1 - 2 * t)) / 2 : (1 + easeOutBounce(2 * t - 1)) / 2;
-                case EASE_OSCILLATE_1:
-                    return (1 - (float) Math.cos(t * 2 * Math.PI)) / 2;
-                case EASE_OSCILLATE_3:
-                    return (1 - (float) Math.cos(t * 3 * 2 * Math.PI)) / 2;
-                case EASE_OSCILLATE_5:
-                    return (1 - (float) Math.cos(t * 5 * 2 * Math.PI)) / 2;
-                case EASE_OSCILLATE_INFINITE:
-                    return (1 - (float) Math.cos(t * 9999 * 2 * Math.PI)) / 2;
-                case LINEAR:
-                default:
-                    return t;
-            }
+    /**
+     * Sets the pool used for parallel interpolation (default the common pool)
+     * @param pool - The pool
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setParallelPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool can not be null");
         }
+        this.parallelPool = pool;
+    }
 
-        private float easeOutBounce(float t) {
-            final float n1 = 7.5625f;
-            final float d1 = 2.75f;
+    /**
+     * How many pixels the manager asked Swing to repaint so far for fades and rotations, moves and resizes repaint
+     * themselves through {@code setBounds} and aren't counted
+     * @return the requested area in pixels
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public long getRepaintPixelsRequested() {
+        return store.getDirtyRegions().getRequestedPixels();
+    }
 
-            if (t < 1f / d1) {
-                return n1 * t * t;
-            } else if (t < 2f / d1) {
-                t -= 1.5f / d1;
-                return n1 * t * t + 0.75f;
-            } else if (t < 2.5f / d1) {
-                t -= 2.25f / d1;
-                return n1 * t * t + 0.9375f;
-            } else {
-                t -= 2.625f / d1;
-                return n1 * t * t + 0.984375f;
-            }
-        }
+    /**
+     * Get the Event Manager
+     * @return EventManager
+     * @since 1.0.0
+     * @author Yukurotei
+     */
+    public EventManager getEventManager() {
+        return eventManager;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package animation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for an {@link Event} whose action ran longer than its manager's slow event threshold inside a frame
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+@Name("animation.SlowEvent")
+@Label("Slow Animation Event")
+@Category({"Swing", "Animation"})
+@Description("An event action that held up the frame it ran in, a candidate for Event.Execution.BACKGROUND")
+@StackTrace(false)
+final class AnimationSlowEventEvent extends jdk.jfr.Event {
+
+    //checked before creating an event, so nothing is allocated unless a recording wants these
+    static final EventType TYPE = EventType.getEventType(AnimationSlowEventEvent.class);
+
+    @Label("Run Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long runTime;
+
+    @Label("Action")
+    @Description("The class of the action, for lambdas it names the class they were written in")
+    String action;
+
+    @Label("Periodic")
+    boolean periodic;
+}
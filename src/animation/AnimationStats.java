@@ -0,0 +1,277 @@
+package animation;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame-time metrics of one {@link AnimationManager}, see {@link AnimationManager#getStats()}.
+ * <p>
+ * While enabled it records how long each tick takes, the real time between frames and how late each frame started
+ * compared to its deadline (a frame more than half an interval late counts as late, whole intervals that had to be
+ * skipped count as dropped), plus the active animations, fired events and repaint area of every frame. Frames from a
+ * {@link ManualDriver} or {@link ExternalDriver} are recorded too, their intervals are on the driver's clock and they
+ * have no deadline, so they never count as late.
+ * Times are kept in {@link Histogram}s. While disabled (the default) a tick only pays for one volatile read.
+ * <p>
+ * The same numbers are available over JMX ({@link #registerMBean(String)}) and every frame is also a JFR event
+ * ({@code animation.Frame} and {@code animation.LateFrame}) whenever a flight recording enables them, independent of
+ * this switch, so jank can be lined up with GC pauses and EDT stalls in the same recording.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AnimationStats implements AnimationStatsMXBean {
+
+    private volatile boolean enabled;
+
+    private final Histogram tickNanos = new Histogram();
+    private final Histogram frameIntervalNanos = new Histogram();
+    private final Histogram latenessNanos = new Histogram();
+    private final Histogram repaintPixels = new Histogram();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong lateFrames = new AtomicLong();
+    private final AtomicLong eventsFired = new AtomicLong();
+    private final AtomicLong totalRepaintPixels = new AtomicLong();
+    private volatile int activeAnimations;
+    private volatile int peakActiveAnimations;
+
+    //set from any thread, the ticking thread starts the frame intervals over when it sees it
+    private volatile boolean restartIntervals = true;
+    //only touched by the ticking thread
+    private long lastFrameStart;
+
+    private ObjectName registeredName;
+
+    AnimationStats() {
+    }
+
+    /**
+     * Is recording enabled
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off, what was recorded so far is kept
+     * @param enabled - true to record
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) restartIntervals = true;
+    }
+
+    void recordFrameStart(long now, long deadline, long intervalNanos) {
+        frames.incrementAndGet();
+        if (restartIntervals) {
+            restartIntervals = false;
+        } else {
+            frameIntervalNanos.record(now - lastFrameStart);
+        }
+        lastFrameStart = now;
+        long lateness = Math.max(0, now - deadline);
+        latenessNanos.record(lateness);
+        if (lateness > intervalNanos / 2) {
+            lateFrames.incrementAndGet();
+        }
+    }
+
+    void recordDropped(long count) {
+        droppedFrames.addAndGet(count);
+    }
+
+    //the next frame after a pause isn't late, the time in between wasn't a frame interval
+    void recordPause() {
+        restartIntervals = true;
+    }
+
+    void recordTick(long nanos, int animations, int events, long pixels) {
+        tickNanos.record(nanos);
+        activeAnimations = animations;
+        if (animations > peakActiveAnimations) peakActiveAnimations = animations;
+        eventsFired.addAndGet(events);
+        repaintPixels.record(pixels);
+        totalRepaintPixels.addAndGet(pixels);
+    }
+
+    /**
+     * @return the time each tick took on the EDT
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Histogram getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * @return the time between the starts of two consecutive frames, on the driver's clock
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Histogram getFrameIntervalNanos() {
+        return frameIntervalNanos;
+    }
+
+    /**
+     * @return how long after its deadline each frame started
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Histogram getLatenessNanos() {
+        return latenessNanos;
+    }
+
+    /**
+     * @return the area sent to the repaint manager per frame
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Histogram getRepaintPixelsPerFrame() {
+        return repaintPixels;
+    }
+
+    @Override
+    public long getFrames() {
+        return frames.get();
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public long getLateFrames() {
+        return lateFrames.get();
+    }
+
+    @Override
+    public long getEventsFired() {
+        return eventsFired.get();
+    }
+
+    @Override
+    public int getActiveAnimations() {
+        return activeAnimations;
+    }
+
+    @Override
+    public int getPeakActiveAnimations() {
+        return peakActiveAnimations;
+    }
+
+    @Override
+    public double getTickMeanNanos() {
+        return tickNanos.getMean();
+    }
+
+    @Override
+    public long getTickP50Nanos() {
+        return tickNanos.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getTickP99Nanos() {
+        return tickNanos.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getTickMaxNanos() {
+        return tickNanos.getMax();
+    }
+
+    @Override
+    public long getFrameIntervalP50Nanos() {
+        return frameIntervalNanos.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getFrameIntervalP99Nanos() {
+        return frameIntervalNanos.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getFrameIntervalMaxNanos() {
+        return frameIntervalNanos.getMax();
+    }
+
+    @Override
+    public long getLatenessP99Nanos() {
+        return latenessNanos.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getRepaintPixels() {
+        return totalRepaintPixels.get();
+    }
+
+    @Override
+    public long getRepaintPixelsP99() {
+        return repaintPixels.getValueAtPercentile(99);
+    }
+
+    /**
+     * Clears everything recorded so far
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    @Override
+    public void reset() {
+        tickNanos.reset();
+        frameIntervalNanos.reset();
+        latenessNanos.reset();
+        repaintPixels.reset();
+        frames.set(0);
+        droppedFrames.set(0);
+        lateFrames.set(0);
+        eventsFired.set(0);
+        totalRepaintPixels.set(0);
+        peakActiveAnimations = activeAnimations;
+    }
+
+    /**
+     * Registers these stats with the platform MBean server as {@code animation:type=AnimationManager,name=<name>}
+     * @param name - A name that tells this manager apart from others
+     * @return the object name it was registered under
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized ObjectName registerMBean(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name can not be null");
+        }
+        unregisterMBean();
+        try {
+            ObjectName objectName = ObjectName.getInstance("animation:type=AnimationManager,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            registeredName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register " + name, e);
+        }
+    }
+
+    /**
+     * Removes these stats from the platform MBean server, if they were registered
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            //already gone
+        }
+        registeredName = null;
+    }
+}
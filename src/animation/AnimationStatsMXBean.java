@@ -0,0 +1,48 @@
+package animation;
+
+/**
+ * The JMX view of {@link AnimationStats}, see {@link AnimationStats#registerMBean(String)}.
+ * Times are in nanoseconds.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public interface AnimationStatsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getFrames();
+
+    long getDroppedFrames();
+
+    long getLateFrames();
+
+    long getEventsFired();
+
+    int getActiveAnimations();
+
+    int getPeakActiveAnimations();
+
+    double getTickMeanNanos();
+
+    long getTickP50Nanos();
+
+    long getTickP99Nanos();
+
+    long getTickMaxNanos();
+
+    long getFrameIntervalP50Nanos();
+
+    long getFrameIntervalP99Nanos();
+
+    long getFrameIntervalMaxNanos();
+
+    long getLatenessP99Nanos();
+
+    long getRepaintPixels();
+
+    long getRepaintPixelsP99();
+
+    void reset();
+}
@@ -0,0 +1,766 @@
+package animation;
+
+import animation.customComponents.AnimatedJComponent;
+import animation.customComponents.AnimationState;
+
+import javax.swing.JComponent;
+import java.awt.Container;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Structure-of-arrays storage for every running animation of an {@link AnimationManager}.
+ * <p>
+ * Animation data lives in parallel primitive columns indexed by slot, and every target owns an intrusive
+ * linked list of its slots so a tick can walk animations grouped by component without building maps or lists.
+ * Results are written into a {@link FrameBuffer} of per-target primitive accumulators, so once the arrays have grown
+ * to fit the workload {@link #step(float, FrameBuffer)} does not allocate.
+ * <p>
+ * Targets are only held weakly, so a component that is thrown away while it's still animating (for example removed
+ * from its parent and forgotten) gets garbage collected, and its animations are dropped with it.
+ * <p>
+ * Not thread safe, only touched from the thread that ticks the manager (the EDT). The one exception is
+ * {@link #stepParallel(float, FrameBuffer, ForkJoinPool)}, during which the store must not be modified
+ * until the returned task has completed.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class AnimationStore {
+
+    static final byte MOVE = 0;
+    static final byte SCALE = 1;
+    static final byte FADE = 2;
+    static final byte ROTATION = 3;
+    static final byte KEYFRAMES = 4;
+
+    static final int HAS_POSITION = 1;
+    static final int HAS_SIZE = 1 << 1;
+    static final int HAS_OPACITY = 1 << 2;
+    static final int HAS_ROTATION = 1 << 3;
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_CHUNK_TARGETS = 64;
+
+    //Animation columns (indexed by slot, dense in [0, count))
+    private int count;
+    private byte[] type = new byte[INITIAL_CAPACITY];
+    private int[] targetOf = new int[INITIAL_CAPACITY];
+    private EasingFunction[] easing = new EasingFunction[INITIAL_CAPACITY];
+    private float[] duration = new float[INITIAL_CAPACITY];
+    private float[] time = new float[INITIAL_CAPACITY];
+    private float[] startA = new float[INITIAL_CAPACITY];
+    private float[] startB = new float[INITIAL_CAPACITY];
+    private float[] endA = new float[INITIAL_CAPACITY];
+    private float[] endB = new float[INITIAL_CAPACITY];
+    private float[] centerX = new float[INITIAL_CAPACITY];
+    private float[] centerY = new float[INITIAL_CAPACITY];
+    private float[] baseWidth = new float[INITIAL_CAPACITY];
+    private float[] baseHeight = new float[INITIAL_CAPACITY];
+    private boolean[] finished = new boolean[INITIAL_CAPACITY];
+    private boolean anyFinished;
+    //this close to the end counts as the end (in seconds), see AnimationDriver.endTolerance()
+    private float endTolerance;
+    private AnimationHandle[] handles = new AnimationHandle[INITIAL_CAPACITY];
+    private boolean[] paused = new boolean[INITIAL_CAPACITY];
+    //the properties an animation owns, what a newer animation has to cover to replace it
+    private int[] owns = new int[INITIAL_CAPACITY];
+    private byte[] blendMode = new byte[INITIAL_CAPACITY];
+    private float[] blendWeight = new float[INITIAL_CAPACITY];
+    //KEYFRAMES only, the tracks and the segment each one was sampled in last
+    private KeyframeTrack[][] tracks = new KeyframeTrack[INITIAL_CAPACITY][];
+    private int[][] cursors = new int[INITIAL_CAPACITY][];
+
+    //Per target chain, kept in submission order so later animations still win conflicts
+    private int[] prevInTarget = new int[INITIAL_CAPACITY];
+    private int[] nextInTarget = new int[INITIAL_CAPACITY];
+
+    //Target table (indexed by target slot, holes are reused through the free list)
+    //components don't override equals, so this is an identity map that lets go of its keys
+    private final WeakHashMap<JComponent, TargetRef> targetSlots = new WeakHashMap<>();
+    private final ReferenceQueue<JComponent> collected = new ReferenceQueue<>();
+    private int targetHighWater;
+    private TargetRef[] targets = new TargetRef[INITIAL_CAPACITY];
+    private int[] evict = new int[INITIAL_CAPACITY];
+    private int[] firstOfTarget = new int[INITIAL_CAPACITY];
+    private int[] lastOfTarget = new int[INITIAL_CAPACITY];
+    private int[] animationsOfTarget = new int[INITIAL_CAPACITY];
+    private int[] freeTargets = new int[INITIAL_CAPACITY];
+    private int freeTargetCount;
+    //components apply() found removed from their window, dropped by dropDetached() before the next step
+    private JComponent[] detached = new JComponent[INITIAL_CAPACITY];
+    private int detachedCount;
+
+    private final DirtyRegions dirtyRegions = new DirtyRegions();
+
+    /**
+     * @return how many animations are currently stored
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * @param endTolerance - How close to its end (in seconds) an animation counts as finished, 0 for exactly at the end
+     */
+    void setEndTolerance(float endTolerance) {
+        this.endTolerance = endTolerance;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Copies a command into a new slot and links it at the end of its target's chain
+     * @param command - The command to store
+     */
+    void add(AnimationCommand command) {
+        AnimationHandle handle = command.handle;
+        if (handle != null && handle.isCancelRequested()) {
+            //cancelled before it ever ran
+            handle.complete(true);
+            return;
+        }
+        int owned = ownedBy(command);
+        if (command.supersede && command.blendMode == Blend.OVERRIDE_MODE) {
+            supersede(command.target, owned);
+        }
+        if (count == type.length) {
+            growAnimations(count * 2);
+        }
+        int slot = count++;
+        int target = slotOf(command.target);
+
+        type[slot] = command.type;
+        targetOf[slot] = target;
+        easing[slot] = command.easing;
+        duration[slot] = command.duration;
+        time[slot] = handle != null && handle.isFinishRequested() ? command.duration : 0;
+        startA[slot] = command.startA;
+        startB[slot] = command.startB;
+        endA[slot] = command.endA;
+        endB[slot] = command.endB;
+        centerX[slot] = command.centerX;
+        centerY[slot] = command.centerY;
+        baseWidth[slot] = command.baseWidth;
+        baseHeight[slot] = command.baseHeight;
+        finished[slot] = false;
+        handles[slot] = handle;
+        if (handle != null) handle.slot = slot;
+        paused[slot] = handle != null && handle.isPaused();
+        owns[slot] = owned;
+        blendMode[slot] = command.blendMode;
+        blendWeight[slot] = command.blendWeight;
+        tracks[slot] = command.tracks;
+        cursors[slot] = command.tracks != null ? new int[command.tracks.length] : null;
+
+        int last = lastOfTarget[target];
+        prevInTarget[slot] = last;
+        nextInTarget[slot] = NONE;
+        if (last == NONE) {
+            firstOfTarget[target] = slot;
+        } else {
+            nextInTarget[last] = slot;
+        }
+        lastOfTarget[target] = slot;
+        animationsOfTarget[target]++;
+    }
+
+    private static int ownedBy(AnimationCommand command) {
+        switch (command.type) {
+            case MOVE:
+                return HAS_POSITION;
+            case SCALE:
+                return HAS_SIZE;
+            case FADE:
+                return HAS_OPACITY;
+            case ROTATION:
+                return HAS_ROTATION;
+            default: {
+                int owned = 0;
+                for (KeyframeTrack track : command.tracks) {
+                    switch (track.getProperty()) {
+                        case X:
+                        case Y:
+                            owned |= HAS_POSITION;
+                            break;
+                        case WIDTH:
+                        case HEIGHT:
+                            owned |= HAS_SIZE;
+                            break;
+                        case OPACITY:
+                            owned |= HAS_OPACITY;
+                            break;
+                        case ROTATION:
+                            owned |= HAS_ROTATION;
+                            break;
+                    }
+                }
+                return owned;
+            }
+        }
+    }
+
+    //Drops the animations of a component whose properties are all owned by a newer animation
+    private void supersede(JComponent component, int owned) {
+        TargetRef ref = targetSlots.get(component);
+        if (ref == null) return;
+        int found = 0;
+        for (int slot = firstOfTarget[ref.target]; slot != NONE; slot = nextInTarget[slot]) {
+            if ((owns[slot] & ~owned) != 0) continue;
+            if (found == evict.length) evict = Arrays.copyOf(evict, found * 2);
+            evict[found++] = slot;
+        }
+        drop(found);
+    }
+
+    //Removes the first n slots of evict, highest first so swap-removal never moves one that's still to go
+    private void drop(int n) {
+        Arrays.sort(evict, 0, n);
+        for (int i = n - 1; i >= 0; i--) {
+            AnimationHandle handle = handles[evict[i]];
+            remove(evict[i]);
+            if (handle != null) handle.complete(true);
+        }
+    }
+
+    /**
+     * Carries out what was asked of a handle, in constant time
+     * @param handle - The handle
+     */
+    void control(AnimationHandle handle) {
+        int slot = handle.slot;
+        //not started yet (add() picks the request up) or already gone
+        if (slot < 0) return;
+        if (handle.isCancelRequested()) {
+            remove(slot);
+            handle.complete(true);
+            return;
+        }
+        if (handle.isFinishRequested()) {
+            //the next step writes the end values and completes it
+            time[slot] = duration[slot];
+        }
+        paused[slot] = handle.isPaused();
+    }
+
+    /**
+     * Drops the animations of every component that was garbage collected
+     */
+    void reclaim() {
+        TargetRef ref;
+        while ((ref = (TargetRef) collected.poll()) != null) {
+            //the slot was released (and maybe reused) before the component was collected
+            if (targets[ref.target] != ref) continue;
+            dropTarget(ref.target);
+        }
+    }
+
+    /**
+     * Drops the animations of every component that was displayed once and has since been removed from its window
+     * (no longer displayable or without a parent), found by the last {@link #apply(FrameBuffer)}.
+     * Components that were never displayed, like offline or test targets, are left alone
+     */
+    void dropDetached() {
+        for (int i = 0; i < detachedCount; i++) {
+            JComponent component = detached[i];
+            detached[i] = null;
+            //added back since, whatever it animates now is wanted
+            if (component.isDisplayable() && component.getParent() != null) continue;
+            TargetRef ref = targetSlots.get(component);
+            if (ref != null) dropTarget(ref.target);
+        }
+        detachedCount = 0;
+    }
+
+    private void dropTarget(int target) {
+        int found = 0;
+        for (int slot = firstOfTarget[target]; slot != NONE; slot = nextInTarget[slot]) {
+            if (found == evict.length) evict = Arrays.copyOf(evict, found * 2);
+            evict[found++] = slot;
+        }
+        drop(found);
+    }
+
+    /**
+     * Advances every animation by delta and resolves the result of each target into the buffer.
+     * Animations of the same target are visited in submission order and each one {@link Blend blends} every property
+     * it touches into the buffer, so by default the last one to touch a property wins.
+     * @param delta - Seconds since the last step
+     * @param out - Where the results go
+     */
+    void step(float delta, FrameBuffer out) {
+        prepare(out);
+        step(delta, out, 0, targetHighWater);
+    }
+
+    /**
+     * Same as {@link #step(float, FrameBuffer)}, but the targets are split into chunks that run on a fork/join pool.
+     * Each target (and with it every one of its animations) belongs to exactly one chunk, so chunks never write to
+     * the same slots. The store must not be touched until the returned task is done
+     * @param delta - Seconds since the last step
+     * @param out - Where the results go
+     * @param pool - The pool to run on
+     * @return the running task
+     */
+    ForkJoinTask<?> stepParallel(float delta, FrameBuffer out, ForkJoinPool pool) {
+        prepare(out);
+        //a few chunks per worker so uneven targets still balance out
+        int chunk = Math.max(MIN_CHUNK_TARGETS, targetHighWater / (pool.getParallelism() * 4));
+        return pool.submit(new StepTask(delta, out, 0, targetHighWater, chunk));
+    }
+
+    private void prepare(FrameBuffer out) {
+        out.ensureCapacity(targetHighWater);
+        out.count = targetHighWater;
+    }
+
+    private void step(float delta, FrameBuffer out, int fromTarget, int toTarget) {
+        for (int target = fromTarget; target < toTarget; target++) {
+            out.mask[target] = 0;
+            TargetRef ref = targets[target];
+            JComponent component = ref != null ? ref.get() : null;
+            out.targets[target] = component;
+            //a free slot, or collected and waiting for reclaim()
+            if (component == null) continue;
+            out.states[target] = ref.state.get();
+            for (int slot = firstOfTarget[target]; slot != NONE; slot = nextInTarget[slot]) {
+                evaluate(slot, target, delta, out);
+            }
+        }
+    }
+
+    private final class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final float delta;
+        private final FrameBuffer out;
+        private final int from, to, chunk;
+
+        StepTask(float delta, FrameBuffer out, int from, int to, int chunk) {
+            this.delta = delta;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                step(delta, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StepTask(delta, out, from, mid, chunk), new StepTask(delta, out, mid, to, chunk));
+        }
+    }
+
+    private void evaluate(int slot, int target, float delta, FrameBuffer out) {
+        float d = duration[slot];
+        float t = paused[slot] ? time[slot] : time[slot] + delta;
+        if (t > d - endTolerance) t = d;
+        time[slot] = t;
+
+        float progress = d > 0 ? Math.min(1f, t / d) : 1f;
+        float eased = easing[slot].ease(progress);
+
+        switch (type[slot]) {
+            case MOVE:
+                blendPosition(slot, target, out,
+                        startA[slot] + (endA[slot] - startA[slot]) * eased,
+                        startB[slot] + (endB[slot] - startB[slot]) * eased,
+                        startA[slot], startB[slot]);
+                break;
+
+            case SCALE: {
+                float currentScaleX = 1.0f + (endA[slot] - 1.0f) * eased;
+                float currentScaleY = 1.0f + (endB[slot] - 1.0f) * eased;
+
+                int newWidth = (int) (baseWidth[slot] * currentScaleX);
+                int newHeight = (int) (baseHeight[slot] * currentScaleY);
+
+                blendPosition(slot, target, out, centerX[slot] - newWidth / 2.0f, centerY[slot] - newHeight / 2.0f,
+                        centerX[slot] - baseWidth[slot] / 2.0f, centerY[slot] - baseHeight[slot] / 2.0f);
+                boolean hasSize = (out.mask[target] & HAS_SIZE) != 0;
+                out.width[target] = (int) blend(slot, hasSize, out.width[target], newWidth, baseWidth[slot]);
+                out.height[target] = (int) blend(slot, hasSize, out.height[target], newHeight, baseHeight[slot]);
+                out.mask[target] |= HAS_SIZE;
+                break;
+            }
+
+            case FADE:
+                out.opacity[target] = blend(slot, (out.mask[target] & HAS_OPACITY) != 0, out.opacity[target],
+                        startA[slot] + (endA[slot] - startA[slot]) * eased, startA[slot]);
+                out.mask[target] |= HAS_OPACITY;
+                break;
+
+            case ROTATION: {
+                out.rotation[target] = blend(slot, (out.mask[target] & HAS_ROTATION) != 0, out.rotation[target],
+                        startA[slot] + (endA[slot] - startA[slot]) * eased, startA[slot]);
+                out.mask[target] |= HAS_ROTATION;
+                //keeps the component where it was, which also adds nothing on top of a move
+                float x = centerX[slot] - baseWidth[slot] / 2.0f;
+                float y = centerY[slot] - baseHeight[slot] / 2.0f;
+                blendPosition(slot, target, out, x, y, x, y);
+                break;
+            }
+
+            case KEYFRAMES:
+                sampleKeyframes(slot, target, t, out);
+                break;
+        }
+
+        if (t >= d) {
+            finished[slot] = true;
+            anyFinished = true;
+        }
+    }
+
+    private void sampleKeyframes(int slot, int target, float t, FrameBuffer out) {
+        KeyframeTrack[] slotTracks = tracks[slot];
+        int[] slotCursors = cursors[slot];
+        //what earlier animations of the target resolved, the tracks blend against this
+        int before = out.mask[target];
+        int m = before;
+        //properties without a track keep what earlier animations resolved, or what the component started with
+        float x = (before & HAS_POSITION) != 0 ? out.x[target] : startA[slot];
+        float y = (before & HAS_POSITION) != 0 ? out.y[target] : startB[slot];
+        float width = (before & HAS_SIZE) != 0 ? out.width[target] : baseWidth[slot];
+        float height = (before & HAS_SIZE) != 0 ? out.height[target] : baseHeight[slot];
+
+        for (int i = 0; i < slotTracks.length; i++) {
+            KeyframeTrack track = slotTracks[i];
+            int segment = track.segmentAt(t, slotCursors[i]);
+            slotCursors[i] = segment;
+            float value = track.valueAt(segment, t);
+            //additive tracks add how far they are from their first key
+            float from = track.getFirstValue();
+            switch (track.getProperty()) {
+                case X:
+                    x = blend(slot, (before & HAS_POSITION) != 0, x, value, from);
+                    m |= HAS_POSITION;
+                    break;
+                case Y:
+                    y = blend(slot, (before & HAS_POSITION) != 0, y, value, from);
+                    m |= HAS_POSITION;
+                    break;
+                case WIDTH:
+                    width = blend(slot, (before & HAS_SIZE) != 0, width, value, from);
+                    m |= HAS_SIZE;
+                    break;
+                case HEIGHT:
+                    height = blend(slot, (before & HAS_SIZE) != 0, height, value, from);
+                    m |= HAS_SIZE;
+                    break;
+                case OPACITY:
+                    out.opacity[target] = blend(slot, (before & HAS_OPACITY) != 0, out.opacity[target], value, from);
+                    m |= HAS_OPACITY;
+                    break;
+                case ROTATION:
+                    out.rotation[target] = blend(slot, (before & HAS_ROTATION) != 0, out.rotation[target],
+                            (float) Math.toRadians(value), (float) Math.toRadians(from));
+                    m |= HAS_ROTATION;
+                    break;
+            }
+        }
+
+        out.x[target] = x;
+        out.y[target] = y;
+        out.width[target] = (int) width;
+        out.height[target] = (int) height;
+        out.mask[target] = m;
+    }
+
+    private void blendPosition(int slot, int target, FrameBuffer out, float x, float y, float fromX, float fromY) {
+        boolean has = (out.mask[target] & HAS_POSITION) != 0;
+        out.x[target] = blend(slot, has, out.x[target], x, fromX);
+        out.y[target] = blend(slot, has, out.y[target], y, fromY);
+        out.mask[target] |= HAS_POSITION;
+    }
+
+    /**
+     * Combines one property of an animation with what the animations before it resolved
+     * @param has - true if an earlier animation of the target already set the property this frame
+     * @param current - What they resolved
+     * @param value - The value of this animation
+     * @param from - The value this animation started from, additive animations add the difference
+     * @return the new value
+     */
+    private float blend(int slot, boolean has, float current, float value, float from) {
+        if (!has) return value;
+        switch (blendMode[slot]) {
+            case Blend.ADDITIVE_MODE:
+                return current + (value - from);
+            case Blend.WEIGHTED_MODE:
+                return current + (value - current) * blendWeight[slot];
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Pushes a resolved frame into the components and clears the buffer for reuse.
+     * Instead of repainting targets (or their whole parent for rotations) one by one, the old and new visual bounds
+     * of every target are collected, the caller sends them to the repaint manager once per frame with
+     * {@link DirtyRegions#flush()}
+     */
+    void apply(FrameBuffer frame) {
+        for (int target = 0; target < frame.count; target++) {
+            int m = frame.mask[target];
+            JComponent component = frame.targets[target];
+            AnimationState state = frame.states[target];
+            frame.targets[target] = null;
+            frame.states[target] = null;
+            if (m == 0) continue;
+            frame.mask[target] = 0;
+            Container parent = component.getParent();
+
+            //timeline frames have their own target numbering, only the store's own targets are tracked
+            TargetRef ref = targets[target];
+            if (ref != null && ref.get() == component) {
+                if (parent != null && component.isDisplayable()) {
+                    ref.displayed = true;
+                } else if (ref.displayed) {
+                    //shown once and removed since, nothing will ever see it animate
+                    detach(component);
+                    continue;
+                }
+            }
+
+            int oldX = component.getX();
+            int oldY = component.getY();
+            int oldWidth = component.getWidth();
+            int oldHeight = component.getHeight();
+            float oldRotation = state.getRotation();
+
+            if ((m & HAS_SIZE) != 0) {
+                if ((m & HAS_POSITION) != 0) {
+                    component.setBounds((int) frame.x[target], (int) frame.y[target], frame.width[target], frame.height[target]);
+                } else {
+                    component.setSize(frame.width[target], frame.height[target]);
+                }
+            } else if ((m & HAS_POSITION) != 0) {
+                component.setLocation((int) frame.x[target], (int) frame.y[target]);
+            }
+
+            if ((m & HAS_OPACITY) != 0) {
+                state.setOpacity(frame.opacity[target]);
+            }
+
+            if ((m & HAS_ROTATION) != 0) {
+                state.setRotation(frame.rotation[target]);
+            }
+
+            if (parent != null) {
+                float rotation = state.getRotation();
+                boolean reshaped = component.getX() != oldX || component.getY() != oldY
+                        || component.getWidth() != oldWidth || component.getHeight() != oldHeight;
+                //a reshape already repaints the old and new bounds itself, only what it can't cover goes in here:
+                //fades and rotations that didn't move, and the corners a rotated component paints outside its bounds
+                if (oldRotation != 0 || rotation != 0) {
+                    dirtyRegions.addVisualBounds(parent, oldX, oldY, oldWidth, oldHeight, oldRotation);
+                    dirtyRegions.addVisualBounds(parent, component.getX(), component.getY(), component.getWidth(), component.getHeight(), rotation);
+                } else if (!reshaped && (m & (HAS_OPACITY | HAS_ROTATION)) != 0) {
+                    dirtyRegions.addVisualBounds(parent, oldX, oldY, oldWidth, oldHeight, 0f);
+                }
+            } else if ((m & (HAS_OPACITY | HAS_ROTATION)) != 0) {
+                component.repaint();
+            }
+        }
+        frame.count = 0;
+    }
+
+    private void detach(JComponent component) {
+        if (detachedCount == detached.length) {
+            detached = Arrays.copyOf(detached, detachedCount * 2);
+        }
+        detached[detachedCount++] = component;
+    }
+
+    /**
+     * @return the repaint bookkeeping of this store
+     */
+    DirtyRegions getDirtyRegions() {
+        return dirtyRegions;
+    }
+
+    /**
+     * Drops every animation that reached its end during the last step.
+     * Walks the columns once from the back and swap-removes, so a burst of completions stays linear.
+     */
+    void removeFinished() {
+        if (!anyFinished) return;
+        for (int slot = count - 1; slot >= 0; slot--) {
+            if (finished[slot]) {
+                AnimationHandle handle = handles[slot];
+                remove(slot);
+                if (handle != null) handle.complete(false);
+            }
+        }
+        anyFinished = false;
+    }
+
+    private void remove(int slot) {
+        AnimationHandle handle = handles[slot];
+        if (handle != null) handle.slot = -1;
+        int target = targetOf[slot];
+        unlink(slot, target);
+        if (--animationsOfTarget[target] == 0) {
+            releaseTarget(target);
+        }
+
+        int last = --count;
+        if (slot != last) {
+            moveSlot(last, slot);
+        }
+        easing[last] = null;
+        handles[last] = null;
+        tracks[last] = null;
+        cursors[last] = null;
+    }
+
+    private void unlink(int slot, int target) {
+        int prev = prevInTarget[slot];
+        int next = nextInTarget[slot];
+        if (prev == NONE) {
+            firstOfTarget[target] = next;
+        } else {
+            nextInTarget[prev] = next;
+        }
+        if (next == NONE) {
+            lastOfTarget[target] = prev;
+        } else {
+            prevInTarget[next] = prev;
+        }
+    }
+
+    private void moveSlot(int from, int to) {
+        type[to] = type[from];
+        targetOf[to] = targetOf[from];
+        easing[to] = easing[from];
+        duration[to] = duration[from];
+        time[to] = time[from];
+        startA[to] = startA[from];
+        startB[to] = startB[from];
+        endA[to] = endA[from];
+        endB[to] = endB[from];
+        centerX[to] = centerX[from];
+        centerY[to] = centerY[from];
+        baseWidth[to] = baseWidth[from];
+        baseHeight[to] = baseHeight[from];
+        finished[to] = finished[from];
+        handles[to] = handles[from];
+        if (handles[to] != null) handles[to].slot = to;
+        paused[to] = paused[from];
+        owns[to] = owns[from];
+        blendMode[to] = blendMode[from];
+        blendWeight[to] = blendWeight[from];
+        tracks[to] = tracks[from];
+        cursors[to] = cursors[from];
+
+        int target = targetOf[to];
+        int prev = prevInTarget[from];
+        int next = nextInTarget[from];
+        prevInTarget[to] = prev;
+        nextInTarget[to] = next;
+        if (prev == NONE) {
+            firstOfTarget[target] = to;
+        } else {
+            nextInTarget[prev] = to;
+        }
+        if (next == NONE) {
+            lastOfTarget[target] = to;
+        } else {
+            prevInTarget[next] = to;
+        }
+    }
+
+    private int slotOf(JComponent component) {
+        TargetRef existing = targetSlots.get(component);
+        if (existing != null) return existing.target;
+
+        int target;
+        if (freeTargetCount > 0) {
+            target = freeTargets[--freeTargetCount];
+        } else {
+            if (targetHighWater == targets.length) {
+                growTargets(targetHighWater * 2);
+            }
+            target = targetHighWater++;
+        }
+        TargetRef ref = new TargetRef(component, target, collected);
+        targets[target] = ref;
+        firstOfTarget[target] = NONE;
+        lastOfTarget[target] = NONE;
+        animationsOfTarget[target] = 0;
+        targetSlots.put(component, ref);
+        return target;
+    }
+
+    private void releaseTarget(int target) {
+        JComponent component = targets[target].get();
+        if (component != null) targetSlots.remove(component);
+        targets[target] = null;
+        firstOfTarget[target] = NONE;
+        lastOfTarget[target] = NONE;
+        if (freeTargetCount == freeTargets.length) {
+            freeTargets = Arrays.copyOf(freeTargets, freeTargetCount * 2);
+        }
+        freeTargets[freeTargetCount++] = target;
+    }
+
+    private void growAnimations(int capacity) {
+        type = Arrays.copyOf(type, capacity);
+        targetOf = Arrays.copyOf(targetOf, capacity);
+        easing = Arrays.copyOf(easing, capacity);
+        duration = Arrays.copyOf(duration, capacity);
+        time = Arrays.copyOf(time, capacity);
+        startA = Arrays.copyOf(startA, capacity);
+        startB = Arrays.copyOf(startB, capacity);
+        endA = Arrays.copyOf(endA, capacity);
+        endB = Arrays.copyOf(endB, capacity);
+        centerX = Arrays.copyOf(centerX, capacity);
+        centerY = Arrays.copyOf(centerY, capacity);
+        baseWidth = Arrays.copyOf(baseWidth, capacity);
+        baseHeight = Arrays.copyOf(baseHeight, capacity);
+        finished = Arrays.copyOf(finished, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        paused = Arrays.copyOf(paused, capacity);
+        owns = Arrays.copyOf(owns, capacity);
+        blendMode = Arrays.copyOf(blendMode, capacity);
+        blendWeight = Arrays.copyOf(blendWeight, capacity);
+        tracks = Arrays.copyOf(tracks, capacity);
+        cursors = Arrays.copyOf(cursors, capacity);
+        prevInTarget = Arrays.copyOf(prevInTarget, capacity);
+        nextInTarget = Arrays.copyOf(nextInTarget, capacity);
+    }
+
+    private void growTargets(int capacity) {
+        targets = Arrays.copyOf(targets, capacity);
+        firstOfTarget = Arrays.copyOf(firstOfTarget, capacity);
+        lastOfTarget = Arrays.copyOf(lastOfTarget, capacity);
+        animationsOfTarget = Arrays.copyOf(animationsOfTarget, capacity);
+    }
+
+    private static final class TargetRef extends WeakReference<JComponent> {
+        final int target;
+        //resolved once per target so applying a frame never looks up client properties, weak since it points back
+        //at the component
+        final WeakReference<AnimationState> state;
+        //was displayable with a parent at some frame, only touched by apply() on the EDT
+        boolean displayed;
+
+        TargetRef(JComponent component, int target, ReferenceQueue<JComponent> queue) {
+            super(component, queue);
+            this.target = target;
+            this.state = new WeakReference<>(AnimatedJComponent.stateOf(component));
+        }
+    }
+}
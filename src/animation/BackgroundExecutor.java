@@ -0,0 +1,52 @@
+package animation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link Event.Execution#BACKGROUND background} event actions: one virtual thread per action on Java 21+,
+ * otherwise a pool of daemon threads that grows as needed and shrinks when idle.
+ * <p>
+ * The library targets older Javas, so virtual threads are looked up reflectively. Nothing is created until the first
+ * background event runs.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class BackgroundExecutor {
+
+    private BackgroundExecutor() {
+    }
+
+    private static final class Holder {
+        static final Executor EXECUTOR = create();
+    }
+
+    static Executor get() {
+        return Holder.EXECUTOR;
+    }
+
+    static boolean isVirtual() {
+        return !(get() instanceof ThreadPoolExecutor);
+    }
+
+    private static Executor create() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            //not there before 21, or a preview that isn't enabled on 19 and 20
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "EventManager-background-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return pool;
+    }
+}
@@ -0,0 +1,83 @@
+package animation;
+
+/**
+ * How an animation combines with the animations of the same component that were started before it.
+ * <p>
+ * Every frame, the animations of a component are resolved in the order they were started, one property
+ * (position, size, opacity, rotation) at a time:
+ * <ul>
+ *     <li>{@link #OVERRIDE} replaces the value, this is what every animation did before blending existed</li>
+ *     <li>{@link #ADDITIVE} adds how far the animation has moved away from its own start value, so a small wiggle
+ *     can run on top of a move</li>
+ *     <li>{@link #weighted(float)} mixes its value into the value so far, 0 keeps the value so far and 1 replaces it</li>
+ * </ul>
+ * An animation that is the first one to touch a property that frame always just sets it.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class Blend {
+
+    /**
+     * The blend modes
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public enum Mode {
+        OVERRIDE,
+        ADDITIVE,
+        WEIGHTED
+    }
+
+    static final byte OVERRIDE_MODE = 0;
+    static final byte ADDITIVE_MODE = 1;
+    static final byte WEIGHTED_MODE = 2;
+
+    /** Replaces the value so far */
+    public static final Blend OVERRIDE = new Blend(Mode.OVERRIDE, 1f);
+    /** Adds to the value so far */
+    public static final Blend ADDITIVE = new Blend(Mode.ADDITIVE, 1f);
+
+    private final Mode mode;
+    private final float weight;
+
+    private Blend(Mode mode, float weight) {
+        this.mode = mode;
+        this.weight = weight;
+    }
+
+    /**
+     * Mixes into the value so far
+     * @param weight - How much of this animation's value is used (0-1)
+     * @return the blend
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Blend weighted(float weight) {
+        if (!(weight >= 0 && weight <= 1)) {
+            throw new IllegalArgumentException("weight must be between 0 and 1");
+        }
+        return new Blend(Mode.WEIGHTED, weight);
+    }
+
+    /**
+     * @return the mode
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the weight, 1 unless the blend is {@link Mode#WEIGHTED}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getWeight() {
+        return weight;
+    }
+
+    byte code() {
+        return (byte) mode.ordinal();
+    }
+}
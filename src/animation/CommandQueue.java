@@ -0,0 +1,51 @@
+package animation;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free multi-producer, single-consumer queue for {@link AnimationCommand}s.
+ * <p>
+ * Any thread may {@link #push(AnimationCommand)}, which is a single CAS on the head of an intrusive stack.
+ * The ticking thread takes the whole stack with one atomic swap in {@link #drain()} and reverses it,
+ * so commands come out in submission order and draining N commands is O(N) with no per-command contention.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class CommandQueue {
+
+    private final AtomicReference<AnimationCommand> top = new AtomicReference<>();
+
+    /**
+     * Publishes a command for the next drain, safe to call from any thread
+     * @param command - The command, must not already be queued
+     */
+    void push(AnimationCommand command) {
+        AnimationCommand head;
+        do {
+            head = top.get();
+            command.next = head;
+        } while (!top.compareAndSet(head, command));
+    }
+
+    /**
+     * Takes every queued command at once, only call from the consuming thread
+     * @return the first command in submission order (follow {@code next}), or null if nothing was queued
+     */
+    AnimationCommand drain() {
+        if (top.get() == null) return null;
+
+        AnimationCommand node = top.getAndSet(null);
+        AnimationCommand reversed = null;
+        while (node != null) {
+            AnimationCommand next = node.next;
+            node.next = reversed;
+            reversed = node;
+            node = next;
+        }
+        return reversed;
+    }
+
+    boolean isEmpty() {
+        return top.get() == null;
+    }
+}
@@ -0,0 +1,156 @@
+package animation;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A CSS style {@code cubic-bezier(x1, y1, x2, y2)} easing.
+ * <p>
+ * The curve runs from (0, 0) to (1, 1) with the two given control points, x being time and y being progress.
+ * Solving x for t is done once per curve into a sample table, each call then only needs a table lookup and a couple of
+ * Newton steps (falling back to bisection where the curve is too flat). Identical curves are interned, so
+ * {@link #of(float, float, float, float)} always returns the same instance for the same control points.
+ * @since 1.1.0
+ * @author Yukurotei
+ * @see <a href="https://www.w3.org/TR/css-easing-1/#cubic-bezier-easing-functions">CSS cubic-bezier</a>
+ */
+public final class CubicBezier implements EasingFunction {
+
+    private static final int SAMPLES = 11;
+    private static final float SAMPLE_STEP = 1f / (SAMPLES - 1);
+    private static final int NEWTON_ITERATIONS = 4;
+    private static final float NEWTON_MIN_SLOPE = 0.001f;
+    private static final float SUBDIVISION_PRECISION = 0.0000001f;
+    private static final int SUBDIVISION_MAX_ITERATIONS = 10;
+
+    private static final ConcurrentHashMap<Key, CubicBezier> INTERNED = new ConcurrentHashMap<>();
+
+    /** CSS {@code ease} */
+    public static final CubicBezier EASE = of(0.25f, 0.1f, 0.25f, 1f);
+    /** CSS {@code ease-in} */
+    public static final CubicBezier EASE_IN = of(0.42f, 0f, 1f, 1f);
+    /** CSS {@code ease-out} */
+    public static final CubicBezier EASE_OUT = of(0f, 0f, 0.58f, 1f);
+    /** CSS {@code ease-in-out} */
+    public static final CubicBezier EASE_IN_OUT = of(0.42f, 0f, 0.58f, 1f);
+
+    private final float x1, y1, x2, y2;
+    private final boolean linear;
+    private final float[] sampleX = new float[SAMPLES];
+
+    private CubicBezier(float x1, float y1, float x2, float y2) {
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.linear = x1 == y1 && x2 == y2;
+        for (int i = 0; i < SAMPLES; i++) {
+            sampleX[i] = bezier(i * SAMPLE_STEP, x1, x2);
+        }
+    }
+
+    /**
+     * Gets the easing for a cubic-bezier curve
+     * @param x1 - x of the first control point (0-1)
+     * @param y1 - y of the first control point
+     * @param x2 - x of the second control point (0-1)
+     * @param y2 - y of the second control point
+     * @return the (shared) curve
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static CubicBezier of(float x1, float y1, float x2, float y2) {
+        if (!(x1 >= 0 && x1 <= 1 && x2 >= 0 && x2 <= 1)) {
+            throw new IllegalArgumentException("x1 and x2 must be between 0 and 1");
+        }
+        if (!Float.isFinite(y1) || !Float.isFinite(y2)) {
+            throw new IllegalArgumentException("y1 and y2 must be finite");
+        }
+        return INTERNED.computeIfAbsent(new Key(x1, y1, x2, y2), k -> new CubicBezier(x1, y1, x2, y2));
+    }
+
+    @Override
+    public float ease(float x) {
+        if (linear) return x;
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        return bezier(solveT(x), y1, y2);
+    }
+
+    private float solveT(float x) {
+        //find the sample interval x falls in and guess linearly inside it
+        int i = 1;
+        while (i < SAMPLES - 1 && sampleX[i] <= x) i++;
+        i--;
+        float intervalStart = i * SAMPLE_STEP;
+        float dist = (x - sampleX[i]) / (sampleX[i + 1] - sampleX[i]);
+        float guess = intervalStart + dist * SAMPLE_STEP;
+
+        float slope = slope(guess, x1, x2);
+        if (slope >= NEWTON_MIN_SLOPE) {
+            for (int n = 0; n < NEWTON_ITERATIONS; n++) {
+                float s = slope(guess, x1, x2);
+                if (s == 0) break;
+                guess -= (bezier(guess, x1, x2) - x) / s;
+            }
+            return guess;
+        }
+        if (slope == 0) return guess;
+        return subdivide(x, intervalStart, intervalStart + SAMPLE_STEP);
+    }
+
+    private float subdivide(float x, float low, float high) {
+        float t = low;
+        for (int n = 0; n < SUBDIVISION_MAX_ITERATIONS; n++) {
+            t = low + (high - low) / 2;
+            float err = bezier(t, x1, x2) - x;
+            if (Math.abs(err) <= SUBDIVISION_PRECISION) break;
+            if (err > 0) {
+                high = t;
+            } else {
+                low = t;
+            }
+        }
+        return t;
+    }
+
+    //B(t) for a curve from 0 to 1 with control values p1 and p2, in Horner form
+    private static float bezier(float t, float p1, float p2) {
+        return ((1 - 3 * p2 + 3 * p1) * t + (3 * p2 - 6 * p1)) * t * t + 3 * p1 * t;
+    }
+
+    private static float slope(float t, float p1, float p2) {
+        return 3 * (1 - 3 * p2 + 3 * p1) * t * t + 2 * (3 * p2 - 6 * p1) * t + 3 * p1;
+    }
+
+    @Override
+    public String toString() {
+        return "cubic-bezier(" + x1 + ", " + y1 + ", " + x2 + ", " + y2 + ")";
+    }
+
+    private static final class Key {
+        private final float x1, y1, x2, y2;
+
+        Key(float x1, float y1, float x2, float y2) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return Float.compare(x1, k.x1) == 0 && Float.compare(y1, k.y1) == 0
+                    && Float.compare(x2, k.x2) == 0 && Float.compare(y2, k.y2) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Float.hashCode(x1);
+            h = 31 * h + Float.hashCode(y1);
+            h = 31 * h + Float.hashCode(x2);
+            return 31 * h + Float.hashCode(y2);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package animation;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import java.awt.Container;
+import java.util.Arrays;
+
+/**
+ * Collects the screen areas touched by one animation frame that Swing doesn't repaint on its own, and hands them to
+ * the {@link RepaintManager} in one pass.
+ * <p>
+ * {@code setBounds} already repaints the old and new bounds of a component that moves or resizes, so those are left
+ * to it. What is recorded here (in parent coordinates) is what a reshape can't cover: the bounds of a component that
+ * faded or rotated without moving, and the old and new bounding boxes of a rotated component (animated components
+ * paint outside their bounds when rotated) instead of repainting its whole parent. At the end of the frame the
+ * rectangles of each parent are merged wherever merging doesn't cost more area than it saves, clipped to the parent
+ * and sent with {@code addDirtyRegion}. Nothing here allocates once the arrays are warm.
+ * <p>
+ * Only used from the thread that ticks the manager.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class DirtyRegions {
+
+    //antialiased edges of rotated components bleed a pixel past the exact bounding box
+    private static final int PAD = 1;
+    //above this many rectangles in one parent the pairwise merge is skipped and they collapse into their union
+    private static final int MERGE_LIMIT = 32;
+
+    private Container[] owners = new Container[8];
+    private int[] ownerFirstRect = new int[8];
+    private int ownerCount;
+    private int lastOwner = -1;
+
+    private int rectCount;
+    private int[] x0 = new int[32];
+    private int[] y0 = new int[32];
+    private int[] x1 = new int[32];
+    private int[] y1 = new int[32];
+    private int[] nextRect = new int[32];
+
+    private int[] scratch = new int[32];
+
+    private volatile long requestedPixels;
+
+    /**
+     * Records the visual bounds of a component that is (or was) at the given bounds and rotation
+     * @param owner - The parent the bounds are relative to
+     * @param x - x in the parent
+     * @param y - y in the parent
+     * @param width - The width
+     * @param height - The height
+     * @param rotation - The rotation in radians
+     */
+    void addVisualBounds(Container owner, int x, int y, int width, int height, float rotation) {
+        if (width <= 0 || height <= 0) return;
+        if (rotation == 0) {
+            add(owner, x, y, x + width, y + height);
+            return;
+        }
+        double cos = Math.abs(Math.cos(rotation));
+        double sin = Math.abs(Math.sin(rotation));
+        double boxWidth = width * cos + height * sin;
+        double boxHeight = width * sin + height * cos;
+        double centerX = x + width / 2.0;
+        double centerY = y + height / 2.0;
+        add(owner,
+                (int) Math.floor(centerX - boxWidth / 2) - PAD, (int) Math.floor(centerY - boxHeight / 2) - PAD,
+                (int) Math.ceil(centerX + boxWidth / 2) + PAD, (int) Math.ceil(centerY + boxHeight / 2) + PAD);
+    }
+
+    private void add(Container owner, int left, int top, int right, int bottom) {
+        int o = ownerIndex(owner);
+        if (rectCount == x0.length) {
+            int capacity = rectCount * 2;
+            x0 = Arrays.copyOf(x0, capacity);
+            y0 = Arrays.copyOf(y0, capacity);
+            x1 = Arrays.copyOf(x1, capacity);
+            y1 = Arrays.copyOf(y1, capacity);
+            nextRect = Arrays.copyOf(nextRect, capacity);
+        }
+        int r = rectCount++;
+        x0[r] = left;
+        y0[r] = top;
+        x1[r] = right;
+        y1[r] = bottom;
+        nextRect[r] = ownerFirstRect[o];
+        ownerFirstRect[o] = r;
+    }
+
+    //animated siblings usually come one after another, so the last owner is checked before scanning
+    private int ownerIndex(Container owner) {
+        if (lastOwner >= 0 && owners[lastOwner] == owner) return lastOwner;
+        for (int i = 0; i < ownerCount; i++) {
+            if (owners[i] == owner) {
+                lastOwner = i;
+                return i;
+            }
+        }
+        if (ownerCount == owners.length) {
+            int capacity = ownerCount * 2;
+            owners = Arrays.copyOf(owners, capacity);
+            ownerFirstRect = Arrays.copyOf(ownerFirstRect, capacity);
+        }
+        int o = ownerCount++;
+        owners[o] = owner;
+        ownerFirstRect[o] = -1;
+        lastOwner = o;
+        return o;
+    }
+
+    /**
+     * Merges and sends everything recorded since the last flush, then resets for the next frame
+     */
+    void flush() {
+        long requested = 0;
+        for (int o = 0; o < ownerCount; o++) {
+            requested += flushOwner(owners[o], ownerFirstRect[o]);
+            owners[o] = null;
+        }
+        if (ownerCount > 0) {
+            requestedPixels += requested;
+        }
+        ownerCount = 0;
+        lastOwner = -1;
+        rectCount = 0;
+    }
+
+    private long flushOwner(Container owner, int first) {
+        int n = 0;
+        for (int r = first; r != -1; r = nextRect[r]) {
+            if (n == scratch.length) scratch = Arrays.copyOf(scratch, n * 2);
+            scratch[n++] = r;
+        }
+        n = n <= MERGE_LIMIT ? merge(n) : collapse(n);
+
+        int maxX = owner.getWidth();
+        int maxY = owner.getHeight();
+        RepaintManager repaintManager = owner instanceof JComponent ? RepaintManager.currentManager((JComponent) owner) : null;
+        long area = 0;
+        for (int i = 0; i < n; i++) {
+            int r = scratch[i];
+            int left = Math.max(0, x0[r]);
+            int top = Math.max(0, y0[r]);
+            int right = Math.min(maxX, x1[r]);
+            int bottom = Math.min(maxY, y1[r]);
+            if (right <= left || bottom <= top) continue;
+
+            area += (long) (right - left) * (bottom - top);
+            if (repaintManager != null) {
+                repaintManager.addDirtyRegion((JComponent) owner, left, top, right - left, bottom - top);
+            } else {
+                owner.repaint(left, top, right - left, bottom - top);
+            }
+        }
+        return area;
+    }
+
+    //pairwise merge, two rectangles become one when their union is no bigger than the two of them apart
+    private int merge(int n) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < n; i++) {
+                int a = scratch[i];
+                for (int j = i + 1; j < n; j++) {
+                    int b = scratch[j];
+                    int left = Math.min(x0[a], x0[b]);
+                    int top = Math.min(y0[a], y0[b]);
+                    int right = Math.max(x1[a], x1[b]);
+                    int bottom = Math.max(y1[a], y1[b]);
+                    long union = (long) (right - left) * (bottom - top);
+                    if (union <= area(a) + area(b)) {
+                        x0[a] = left;
+                        y0[a] = top;
+                        x1[a] = right;
+                        y1[a] = bottom;
+                        scratch[j] = scratch[--n];
+                        merged = true;
+                        j--;
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    private int collapse(int n) {
+        int a = scratch[0];
+        for (int i = 1; i < n; i++) {
+            int b = scratch[i];
+            x0[a] = Math.min(x0[a], x0[b]);
+            y0[a] = Math.min(y0[a], y0[b]);
+            x1[a] = Math.max(x1[a], x1[b]);
+            y1[a] = Math.max(y1[a], y1[b]);
+        }
+        return 1;
+    }
+
+    private long area(int r) {
+        return (long) (x1[r] - x0[r]) * (y1[r] - y0[r]);
+    }
+
+    /**
+     * @return the total area (in pixels) sent to the repaint manager so far, on top of what reshapes repainted
+     */
+    long getRequestedPixels() {
+        return requestedPixels;
+    }
+}
@@ -0,0 +1,22 @@
+package animation;
+
+/**
+ * Maps linear animation progress to eased progress.
+ * <p>
+ * Every {@link AnimationManager.Easing} is one, and {@link CubicBezier} adds CSS style curves. Implement it yourself
+ * for anything else, animations keep a direct reference to the function and call it once per frame.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+@FunctionalInterface
+public interface EasingFunction {
+
+    /**
+     * Eases the progress of an animation
+     * @param t - The linear progress, from 0 (start) to 1 (end)
+     * @return the eased progress, 0 at the start and 1 at the end (may overshoot in between)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    float ease(float t);
+}
@@ -0,0 +1,110 @@
+package animation;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precomputed lookup table for one {@link AnimationManager.Easing}, sampled with linear interpolation.
+ * <p>
+ * Tables are built lazily the first time an easing is requested with a given error bound and are shared by every
+ * animation and every manager afterwards. The resolution starts small and doubles until interpolating the table stays
+ * within the requested error of the exact formula. Curves that never get there (like {@code EASE_OSCILLATE_INFINITE}
+ * with its 9999 cycles) or that were explicitly marked exact fall back to the exact formula.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class EasingTable implements EasingFunction {
+
+    static final float DEFAULT_MAX_ERROR = 1e-3f;
+
+    private static final int MIN_RESOLUTION = 64;
+    private static final int MAX_RESOLUTION = 1 << 14;
+    //how many points inside each interval are checked against the exact curve when validating a table
+    private static final int PROBES_PER_INTERVAL = 4;
+
+    //Marker for "no table meets the bound, use the exact formula"
+    private static final EasingTable EXACT = new EasingTable(new float[2]);
+
+    private static final ConcurrentHashMap<Long, EasingTable> TABLES = new ConcurrentHashMap<>();
+    private static volatile Set<AnimationManager.Easing> exactEasings = EnumSet.of(AnimationManager.Easing.EASE_OSCILLATE_INFINITE);
+
+    private final float[] samples;
+    private final int resolution;
+
+    private EasingTable(float[] samples) {
+        this.samples = samples;
+        this.resolution = samples.length - 1;
+    }
+
+    /**
+     * Evaluates the table at t with linear interpolation between the two closest samples
+     * @param t - Progress in [0, 1]
+     * @return the eased progress
+     */
+    @Override
+    public float ease(float t) {
+        float x = t * resolution;
+        int i = (int) x;
+        if (i >= resolution) return samples[resolution];
+        if (i < 0) return samples[0];
+        float a = samples[i];
+        return a + (samples[i + 1] - a) * (x - i);
+    }
+
+    /**
+     * Finds (or builds) the shared table for an easing
+     * @param easing - The easing
+     * @param maxError - The largest absolute difference from the exact curve that is acceptable
+     * @return the table, or null when the easing has to be evaluated exactly
+     */
+    static EasingTable lookup(AnimationManager.Easing easing, float maxError) {
+        if (easing == null || easing == AnimationManager.Easing.LINEAR || exactEasings.contains(easing)) return null;
+
+        long key = ((long) easing.ordinal() << 32) | (Float.floatToIntBits(maxError) & 0xFFFFFFFFL);
+        EasingTable table = TABLES.computeIfAbsent(key, k -> build(easing, maxError));
+        return table == EXACT ? null : table;
+    }
+
+    /**
+     * Forces an easing to always use (or stop forcing it to use) the exact formula
+     * @param easing - The easing
+     * @param exact - true to never tabulate it
+     */
+    static synchronized void setExact(AnimationManager.Easing easing, boolean exact) {
+        EnumSet<AnimationManager.Easing> copy = EnumSet.noneOf(AnimationManager.Easing.class);
+        copy.addAll(exactEasings);
+        if (exact) {
+            copy.add(easing);
+        } else {
+            copy.remove(easing);
+        }
+        exactEasings = copy;
+    }
+
+    private static EasingTable build(AnimationManager.Easing easing, float maxError) {
+        for (int resolution = MIN_RESOLUTION; resolution <= MAX_RESOLUTION; resolution *= 2) {
+            float[] samples = new float[resolution + 1];
+            for (int i = 0; i <= resolution; i++) {
+                samples[i] = easing.ease((float) i / resolution);
+            }
+            if (maxErrorOf(easing, samples, resolution) <= maxError) {
+                return new EasingTable(samples);
+            }
+        }
+        return EXACT;
+    }
+
+    private static double maxErrorOf(AnimationManager.Easing easing, float[] samples, int resolution) {
+        double worst = 0;
+        for (int i = 0; i < resolution; i++) {
+            for (int p = 1; p <= PROBES_PER_INTERVAL; p++) {
+                float f = (float) p / (PROBES_PER_INTERVAL + 1);
+                float t = (i + f) / resolution;
+                float interpolated = samples[i] + (samples[i + 1] - samples[i]) * f;
+                worst = Math.max(worst, Math.abs(interpolated - easing.ease(t)));
+            }
+        }
+        return worst;
+    }
+}
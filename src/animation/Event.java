@@ -1,13 +1,46 @@
 package animation;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
 /**
  * An event
  * @since 1.0.0
  * @author Yukurotei
  */
 public class Event {
-    private final float triggerTime;
+
+    /**
+     * Where an event's action runs
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public enum Execution {
+        /**
+         * Inside the frame (on the EDT for an {@link AnimationManager}), so it can touch Swing directly but every
+         * animation waits until it's done. The default
+         */
+        FRAME,
+        /**
+         * On a virtual thread (a daemon thread before Java 21), the frame goes on right away. The action must not
+         * touch Swing itself, it hands that part back with {@link Event#onEdt(Runnable)}
+         */
+        BACKGROUND
+    }
+
+    private final long triggerNanos;
+    private final long periodNanos;
     private final Runnable action;
-    private boolean hasBeenTriggered = false;
+    private volatile boolean hasBeenTriggered = false;
+    private volatile Execution execution = Execution.FRAME;
+
+    //Scheduling state, guarded by the owning EventManager
+    EventManager owner;
+    long dueNanos;
+    long sequence;
+    int heapIndex = -1;
 
     /**
      * Creates an event
@@ -17,25 +50,169 @@ public class Event {
      * @author Yukurotei
      */
     public Event(float triggerTime, Runnable action) {
-        this.triggerTime = triggerTime;
+        this(toNanos(triggerTime), 0, action);
+    }
+
+    /**
+     * Creates an event that keeps repeating
+     * @param triggerTime - How long after the program starts the event runs for the first time (in seconds)
+     * @param period - The time between two runs (in seconds, must be positive)
+     * @param action - The action
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Event(float triggerTime, float period, Runnable action) {
+        this(toNanos(triggerTime), toNanos(period), action);
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+    }
+
+    Event(long triggerNanos, long periodNanos, Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action can not be null");
+        }
+        this.triggerNanos = triggerNanos;
+        this.periodNanos = periodNanos;
         this.action = action;
     }
 
     /**
-     * Internal dont worry
-     * @hidden
-     * @since 1.0.0
+     * Creates an event that does its work in the background and then continues on the EDT with the result, for
+     * loading data or decoding an image without holding up the animations
+     * <pre>
+     * manager.getEventManager().addEvent(Event.background(2f, () -> ImageIO.read(file),
+     *         image -> label.setIcon(new ImageIcon(image))));
+     * </pre>
+     * If the work throws, the continuation doesn't run and the exception goes to the thread's uncaught exception
+     * handler
+     * @param triggerTime - How long after the program starts the event runs
+     * @param work - What to do in the background
+     * @param onEdt - What to do with the result on the EDT
+     * @return the event
+     * @since 1.1.0
      * @author Yukurotei
      */
-    public void trigger(float currentTime) {
-        if (!hasBeenTriggered && currentTime >= triggerTime) {
+    public static <T> Event background(float triggerTime, Callable<? extends T> work, Consumer<? super T> onEdt) {
+        Event event = new Event(toNanos(triggerTime), 0, continueOnEdt(work, onEdt));
+        event.setExecution(Execution.BACKGROUND);
+        return event;
+    }
+
+    /**
+     * Runs the Swing part of a {@link Execution#BACKGROUND background} action on the EDT, after everything already
+     * queued there. Runs it right away when called on the EDT
+     * @param action - The action
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void onEdt(Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action can not be null");
+        }
+        if (SwingUtilities.isEventDispatchThread()) {
             action.run();
-            hasBeenTriggered = true;
+        } else {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+
+    static <T> Runnable continueOnEdt(Callable<? extends T> work, Consumer<? super T> onEdt) {
+        if (work == null) {
+            throw new IllegalArgumentException("work can not be null");
+        }
+        if (onEdt == null) {
+            throw new IllegalArgumentException("onEdt can not be null");
         }
+        return () -> {
+            T result;
+            try {
+                result = work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("background event failed", e);
+            }
+            onEdt(() -> onEdt.accept(result));
+        };
+    }
+
+    static long toNanos(float seconds) {
+        if (Float.isNaN(seconds)) {
+            throw new IllegalArgumentException("time can not be NaN");
+        }
+        return (long) (seconds * 1_000_000_000.0);
+    }
+
+    //called by the EventManager once the event is due
+    void fire() {
+        hasBeenTriggered = true;
+        action.run();
+    }
+
+    //same, for background events, only hands the action over
+    void fire(Executor background) {
+        hasBeenTriggered = true;
+        background.execute(action);
+    }
+
+    Runnable getAction() {
+        return action;
+    }
+
+    long getTriggerNanos() {
+        return triggerNanos;
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /**
+     * When the event runs
+     * @return the (first) trigger time in seconds after the manager started
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getTriggerTime() {
+        return triggerNanos / 1_000_000_000.0f;
+    }
+
+    /**
+     * Sets where the action runs from its next run on, see {@link Execution}
+     * @param execution - {@link Execution#FRAME} (the default) or {@link Execution#BACKGROUND}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setExecution(Execution execution) {
+        if (execution == null) {
+            throw new IllegalArgumentException("execution can not be null");
+        }
+        this.execution = execution;
+    }
+
+    /**
+     * Where the action runs
+     * @return the execution
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Execution getExecution() {
+        return execution;
+    }
+
+    /**
+     * Does the event repeat
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isPeriodic() {
+        return periodNanos > 0;
     }
 
     /**
-     * Has the Event been triggered
+     * Has the Event been triggered (at least once, for repeating events)
      * @return boolean
      * @since 1.0.0
      * @author Yukurotei
@@ -0,0 +1,46 @@
+package animation;
+
+/**
+ * Returned when an {@link Event} is scheduled, used to cancel it
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class EventHandle {
+    private final EventManager manager;
+    private final Event event;
+
+    EventHandle(EventManager manager, Event event) {
+        this.manager = manager;
+        this.event = event;
+    }
+
+    /**
+     * Removes the event from its manager so it never runs (again), O(log n) in the number of scheduled events
+     * @return true if the event was still scheduled
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean cancel() {
+        return manager.cancel(event);
+    }
+
+    /**
+     * Is the event still waiting to run (always true for repeating events until cancelled)
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isScheduled() {
+        return manager.isScheduled(event);
+    }
+
+    /**
+     * Get the event
+     * @return Event
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Event getEvent() {
+        return event;
+    }
+}
@@ -1,22 +1,209 @@
 package animation;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.ObjLongConsumer;
 
 /**
  * A manager for all your events
+ * <p>
+ * Events are kept in a binary min-heap ordered by due time (ties run in the order they were added), so a tick where
+ * nothing is due only reads one volatile long and fired events are removed right away. Times are long nanoseconds
+ * since the manager started, so precision doesn't degrade however long the program runs.
+ * <p>
+ * Actions run inside the frame unless their event is {@link Event.Execution#BACKGROUND background}. One that takes
+ * longer than {@link #setSlowEventThreshold(float)} is reported (to {@link #setOnSlowEvent(ObjLongConsumer)}, as an
+ * {@code animation.SlowEvent} JFR event and in {@link #getSlowEventCount()}), those are the ones to move off the frame.
  * @since 1.0.0
  * @author Yukurotei
  */
 public class EventManager {
-    private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+    private final LongSupplier clock;
+    private final Object lock = new Object();
+    private Event[] heap = new Event[16];
+    private int size;
+    private long sequence;
+    private volatile long nextDue = Long.MAX_VALUE;
+    private volatile Runnable onChange;
+    //only written by update()
+    private long fired;
+    private volatile long slowEvents;
+    private volatile long slowThresholdNanos = 8_000_000L;
+    private volatile ObjLongConsumer<Event> onSlowEvent;
+    private volatile Executor background;
+
+    /**
+     * Creates an event manager whose time starts now
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public EventManager() {
+        long created = System.nanoTime();
+        this.clock = () -> System.nanoTime() - created;
+    }
+
+    //used by AnimationManager so relative delays are measured on its timebase
+    EventManager(LongSupplier clock) {
+        this.clock = clock;
+    }
+
     /**
      * Add an event to the manager
      * @param event - The event
+     * @return a handle to cancel the event with
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void addEvent(Event event) {
-        events.add(event);
+    public EventHandle addEvent(Event event) {
+        if (event == null) {
+            throw new IllegalArgumentException("event can not be null");
+        }
+        insert(event, event.getTriggerNanos());
+        return new EventHandle(this, event);
+    }
+
+    /**
+     * Runs an action once, after a delay from now
+     * @param delay - The delay (in seconds)
+     * @param action - The action
+     * @return a handle to cancel the event with
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public EventHandle schedule(float delay, Runnable action) {
+        Event event = new Event(clock.getAsLong() + Event.toNanos(delay), 0, action);
+        insert(event, event.getTriggerNanos());
+        return new EventHandle(this, event);
+    }
+
+    /**
+     * Runs an action repeatedly, starting after a delay from now.
+     * If the manager falls behind by several periods the missed runs are skipped, not run in a burst
+     * @param delay - The delay before the first run (in seconds)
+     * @param period - The time between two runs (in seconds, must be positive)
+     * @param action - The action
+     * @return a handle to cancel the event with
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public EventHandle schedulePeriodic(float delay, float period, Runnable action) {
+        long periodNanos = Event.toNanos(period);
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        Event event = new Event(clock.getAsLong() + Event.toNanos(delay), periodNanos, action);
+        insert(event, event.getTriggerNanos());
+        return new EventHandle(this, event);
+    }
+
+    /**
+     * Does some work in the background once, after a delay from now, then continues on the EDT with the result.
+     * See {@link Event#background(float, Callable, Consumer)}
+     * @param delay - The delay (in seconds)
+     * @param work - What to do in the background
+     * @param onEdt - What to do with the result on the EDT
+     * @return a handle to cancel the event with
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public <T> EventHandle scheduleBackground(float delay, Callable<? extends T> work, Consumer<? super T> onEdt) {
+        Event event = new Event(clock.getAsLong() + Event.toNanos(delay), 0, Event.continueOnEdt(work, onEdt));
+        event.setExecution(Event.Execution.BACKGROUND);
+        insert(event, event.getTriggerNanos());
+        return new EventHandle(this, event);
+    }
+
+    /**
+     * Sets what runs {@link Event.Execution#BACKGROUND background} actions, by default a virtual thread per action
+     * (on Java 21+) or a shared pool of daemon threads
+     * @param executor - The executor, or null for the default
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setBackgroundExecutor(Executor executor) {
+        this.background = executor;
+    }
+
+    /**
+     * Do background actions run on virtual threads by default (Java 21+)
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return BackgroundExecutor.isVirtual();
+    }
+
+    /**
+     * Sets how long an action may run inside the frame before it's reported as slow (default 8ms, half a frame at
+     * 60fps). Background actions are never reported
+     * @param millis - The threshold (in ms), 0 reports every event, a negative value turns reporting off
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setSlowEventThreshold(float millis) {
+        if (Float.isNaN(millis)) {
+            throw new IllegalArgumentException("millis can not be NaN");
+        }
+        this.slowThresholdNanos = millis < 0 ? -1 : (long) (millis * 1_000_000.0);
+    }
+
+    /**
+     * How long an action may run inside the frame before it's reported as slow
+     * @return the threshold in ms, negative when reporting is off
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getSlowEventThreshold() {
+        return slowThresholdNanos / 1_000_000.0f;
+    }
+
+    /**
+     * Sets code to run after an event that was slow, with how long its action took (in nanoseconds). It runs on the
+     * thread that fires events, right after the slow one
+     * @param listener - The listener, or null
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setOnSlowEvent(ObjLongConsumer<Event> listener) {
+        this.onSlowEvent = listener;
+    }
+
+    /**
+     * How many events were slow so far
+     * @return long
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public long getSlowEventCount() {
+        return slowEvents;
+    }
+
+    /**
+     * How many events are waiting to run
+     * @return int
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public int getScheduledCount() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    //lets the owning manager wake up when an earlier event is added while it's idle
+    void setOnChange(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * @return when the next event is due, in nanoseconds since the manager started, or Long.MAX_VALUE
+     */
+    long nextTriggerNanos() {
+        return nextDue;
     }
 
     /**
@@ -25,9 +212,158 @@ public class EventManager {
      * @since 1.0.0
      * @author Yukurotei
      */
-    public void update(float timePassed) {
-        for (Event event : events) {
-            event.trigger(timePassed);
+    public void update(long elapsedNanos) {
+        if (elapsedNanos < nextDue) return;
+
+        while (true) {
+            Event due;
+            synchronized (lock) {
+                if (size == 0 || heap[0].dueNanos > elapsedNanos) break;
+                due = heap[0];
+                long period = due.getPeriodNanos();
+                if (period > 0) {
+                    //keep the phase, skip whatever was missed
+                    long missed = (elapsedNanos - due.dueNanos) / period + 1;
+                    due.dueNanos += missed * period;
+                    due.sequence = sequence++;
+                    siftDown(0);
+                } else {
+                    removeAt(0);
+                }
+                nextDue = size == 0 ? Long.MAX_VALUE : heap[0].dueNanos;
+            }
+            fired++;
+            run(due);
+        }
+    }
+
+    private void run(Event event) {
+        if (event.getExecution() == Event.Execution.BACKGROUND) {
+            Executor executor = background;
+            event.fire(executor != null ? executor : BackgroundExecutor.get());
+            return;
+        }
+        long threshold = slowThresholdNanos;
+        if (threshold < 0) {
+            event.fire();
+            return;
+        }
+        long start = System.nanoTime();
+        event.fire();
+        long took = System.nanoTime() - start;
+        if (took > threshold) {
+            reportSlow(event, took);
+        }
+    }
+
+    private void reportSlow(Event event, long took) {
+        slowEvents++;
+        if (AnimationSlowEventEvent.TYPE.isEnabled()) {
+            AnimationSlowEventEvent jfr = new AnimationSlowEventEvent();
+            jfr.runTime = took;
+            jfr.action = event.getAction().getClass().getName();
+            jfr.periodic = event.isPeriodic();
+            jfr.commit();
+        }
+        ObjLongConsumer<Event> listener = onSlowEvent;
+        if (listener != null) {
+            listener.accept(event, took);
         }
     }
+
+    /**
+     * @return how many times events fired so far, only read from the thread that calls {@link #update(long)}
+     */
+    long getFiredCount() {
+        return fired;
+    }
+
+    boolean cancel(Event event) {
+        synchronized (lock) {
+            if (event.owner != this || event.heapIndex < 0) return false;
+            removeAt(event.heapIndex);
+            nextDue = size == 0 ? Long.MAX_VALUE : heap[0].dueNanos;
+            return true;
+        }
+    }
+
+    boolean isScheduled(Event event) {
+        synchronized (lock) {
+            return event.owner == this && event.heapIndex >= 0;
+        }
+    }
+
+    private void insert(Event event, long dueNanos) {
+        boolean earliest;
+        synchronized (lock) {
+            if (event.heapIndex >= 0 || (event.owner != null && event.owner != this)) {
+                throw new IllegalStateException("event is already scheduled");
+            }
+            if (event.owner == this && event.hasBeenTriggered() && !event.isPeriodic()) {
+                throw new IllegalStateException("event has already been triggered");
+            }
+            event.owner = this;
+            event.dueNanos = dueNanos;
+            event.sequence = sequence++;
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = event;
+            event.heapIndex = size;
+            siftUp(size++);
+            earliest = event.heapIndex == 0;
+            nextDue = heap[0].dueNanos;
+        }
+        Runnable listener = onChange;
+        if (earliest && listener != null) {
+            listener.run();
+        }
+    }
+
+    private void removeAt(int index) {
+        Event removed = heap[index];
+        Event last = heap[--size];
+        heap[size] = null;
+        removed.heapIndex = -1;
+        if (index != size) {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    private void siftUp(int index) {
+        Event event = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            Event p = heap[parent];
+            if (!before(event, p)) break;
+            heap[index] = p;
+            p.heapIndex = index;
+            index = parent;
+        }
+        heap[index] = event;
+        event.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Event event = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) child = right;
+            if (!before(heap[child], event)) break;
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = event;
+        event.heapIndex = index;
+    }
+
+    private static boolean before(Event a, Event b) {
+        return a.dueNanos < b.dueNanos || (a.dueNanos == b.dueNanos && a.sequence < b.sequence);
+    }
 }
@@ -0,0 +1,90 @@
+package animation;
+
+/**
+ * Drives an {@link AnimationManager} from a frame callback that already exists, so the manager doesn't run a timer of
+ * its own.
+ * <pre>
+ * ExternalDriver driver = AnimationDriver.external();
+ * AnimationManager manager = new AnimationManager(driver);
+ * //in the render loop, on the EDT
+ * if (driver.needsFrame()) driver.frame();
+ * </pre>
+ * Time is {@code System.nanoTime()}. Call {@link #frame()} on the thread that owns the components (the EDT).
+ * {@link #setOnWake(Runnable)} tells a loop that stops while nothing moves when it should start again.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class ExternalDriver extends AnimationDriver {
+
+    private AnimationManager manager;
+    private volatile Runnable onWake;
+    private long lastFrame = Long.MIN_VALUE;
+
+    ExternalDriver() {
+    }
+
+    /**
+     * Runs a frame now
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void frame() {
+        frame(System.nanoTime());
+    }
+
+    /**
+     * Runs a frame for a timestamp of the render loop (for example when a vsync happened)
+     * @param nanoTime - The frame time, from {@code System.nanoTime()}, never earlier than the last one
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void frame(long nanoTime) {
+        if (manager == null) {
+            throw new IllegalStateException("driver isn't driving a manager");
+        }
+        if (lastFrame != Long.MIN_VALUE && nanoTime - lastFrame < 0) {
+            throw new IllegalArgumentException("frame time went backwards");
+        }
+        lastFrame = nanoTime;
+        manager.tick(nanoTime);
+    }
+
+    /**
+     * Tells a render loop whether calling {@link #frame()} right now would do anything
+     * @return true if something is animating, was submitted or an event is due
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean needsFrame() {
+        if (manager == null) return false;
+        long wakeAt = manager.idleUntil();
+        return wakeAt < 0 || wakeAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Sets code to run whenever something is submitted to the manager (an animation, a timeline, an event), so a loop
+     * that stopped while nothing moved can start again. It may run on any thread
+     * @param onWake - The code, or null
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setOnWake(Runnable onWake) {
+        this.onWake = onWake;
+    }
+
+    @Override
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    void attach(AnimationManager manager) {
+        this.manager = checkAttach(this.manager, manager);
+    }
+
+    @Override
+    void wake() {
+        Runnable action = onWake;
+        if (action != null) action.run();
+    }
+}
@@ -0,0 +1,42 @@
+package animation;
+
+import animation.customComponents.AnimationState;
+
+import javax.swing.JComponent;
+import java.util.Arrays;
+
+/**
+ * The resolved result of one animation step, one entry per target slot of the {@link AnimationStore}.
+ * <p>
+ * Every entry carries its own target reference, so a buffer stays valid after the store has recycled target slots.
+ * That lets the manager keep two of these and have the workers fill one while the EDT applies the other.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class FrameBuffer {
+
+    int count;
+    JComponent[] targets = new JComponent[16];
+    AnimationState[] states = new AnimationState[16];
+    int[] mask = new int[16];
+    float[] x = new float[16];
+    float[] y = new float[16];
+    int[] width = new int[16];
+    int[] height = new int[16];
+    float[] opacity = new float[16];
+    float[] rotation = new float[16];
+
+    void ensureCapacity(int capacity) {
+        if (capacity <= targets.length) return;
+        int size = Math.max(capacity, targets.length * 2);
+        targets = Arrays.copyOf(targets, size);
+        states = Arrays.copyOf(states, size);
+        mask = Arrays.copyOf(mask, size);
+        x = Arrays.copyOf(x, size);
+        y = Arrays.copyOf(y, size);
+        width = Arrays.copyOf(width, size);
+        height = Arrays.copyOf(height, size);
+        opacity = Arrays.copyOf(opacity, size);
+        rotation = Arrays.copyOf(rotation, size);
+    }
+}
@@ -0,0 +1,166 @@
+package animation;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives an {@link AnimationManager} from a one-shot Swing {@link Timer} that is re-armed after every frame.
+ * <p>
+ * Frames are paced against absolute deadlines ({@code previous deadline + interval}) instead of letting the timer
+ * add its own delay after each callback, so jitter in one frame is corrected in the next one instead of accumulating.
+ * If the loop falls more than a whole interval behind, the missed frames are dropped and pacing restarts from now.
+ * <p>
+ * When the manager reports that nothing is animating, the scheduler parks: the timer is either stopped or armed
+ * exactly for the next due {@link Event}. {@link #wake()} (called when something is submitted) un-parks it
+ * immediately from any thread.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class FrameScheduler extends AnimationDriver {
+
+    private AnimationManager manager;
+    private final long intervalNanos;
+    private final Timer timer;
+    private final AtomicBoolean parked = new AtomicBoolean(false);
+    private final Runnable resumeOnEdt = this::resume;
+
+    private volatile boolean running;
+    private long nextDeadline;
+    //false when the current frame was armed by a wake up or an event instead of by pacing, it has no real deadline
+    private boolean paced;
+
+    FrameScheduler(int intervalMillis) {
+        this.intervalNanos = Math.max(0, intervalMillis) * 1_000_000L;
+        this.timer = new Timer(Math.max(0, intervalMillis), e -> frame());
+        this.timer.setRepeats(false);
+        //re-armed from inside its own callback, a coalescing timer throws away an event that is posted before the
+        //callback returns (a 0ms delay), and then the loop is dead
+        this.timer.setCoalesce(false);
+    }
+
+    @Override
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    void attach(AnimationManager manager) {
+        this.manager = checkAttach(this.manager, manager);
+    }
+
+    /**
+     * Starts (or restarts) ticking, safe to call from any thread
+     */
+    @Override
+    void start() {
+        running = true;
+        parked.set(true);
+        wake();
+    }
+
+    /**
+     * Stops ticking until {@link #start()} is called again, submissions don't wake a stopped scheduler
+     */
+    @Override
+    void stop() {
+        running = false;
+        parked.set(false);
+        if (SwingUtilities.isEventDispatchThread()) {
+            timer.stop();
+        } else {
+            SwingUtilities.invokeLater(() -> {
+                if (!running) timer.stop();
+            });
+        }
+    }
+
+    /**
+     * Resumes ticking right away if the scheduler is parked, safe to call from any thread
+     */
+    @Override
+    void wake() {
+        if (!running || !parked.compareAndSet(true, false)) return;
+        if (SwingUtilities.isEventDispatchThread()) {
+            resume();
+        } else {
+            SwingUtilities.invokeLater(resumeOnEdt);
+        }
+    }
+
+    private void resume() {
+        if (!running) return;
+        nextDeadline = System.nanoTime();
+        paced = false;
+        arm(0);
+    }
+
+    private void frame() {
+        if (!running) return;
+        //may have been armed for an event while parked
+        parked.set(false);
+        long now = System.nanoTime();
+        AnimationStats stats = manager.getStats();
+        if (!paced) {
+            //first frame after parking, pace from here
+            nextDeadline = now;
+            stats.recordPause();
+        }
+        long lateness = now - nextDeadline;
+        if (lateness > intervalNanos / 2 && AnimationLateFrameEvent.TYPE.isEnabled()) {
+            AnimationLateFrameEvent event = new AnimationLateFrameEvent();
+            event.lateness = lateness;
+            event.droppedFrames = intervalNanos > 0 ? lateness / intervalNanos : 0;
+            event.commit();
+        }
+        try {
+            manager.tick(now, nextDeadline, intervalNanos);
+        } finally {
+            //re-arm or park even when an event threw, the exception still reaches the EDT afterwards
+            schedule(stats);
+        }
+    }
+
+    private void schedule(AnimationStats stats) {
+        long wakeAt = manager.idleUntil();
+        if (wakeAt >= 0) {
+            park();
+            return;
+        }
+
+        nextDeadline += intervalNanos;
+        long after = System.nanoTime();
+        if (after - nextDeadline > intervalNanos) {
+            //fell behind by more than a frame, drop the missed ones instead of bursting to catch up
+            if (stats.isEnabled() && intervalNanos > 0) {
+                stats.recordDropped((after - nextDeadline) / intervalNanos);
+            }
+            nextDeadline = after + intervalNanos;
+        }
+        paced = true;
+        arm(Math.max(0, Math.round((nextDeadline - after) / 1_000_000.0)));
+    }
+
+    private void park() {
+        parked.set(true);
+        paced = false;
+        //read again once parked, whatever was submitted (or scheduled) in between didn't see us parked
+        long wakeAt = manager.idleUntil();
+        if (wakeAt < 0) {
+            wake();
+            return;
+        }
+        if (wakeAt == Long.MAX_VALUE) {
+            timer.stop();
+            return;
+        }
+        long delay = wakeAt - System.nanoTime();
+        //round up so an event never wakes us a hair early
+        arm(delay <= 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, (delay + 999_999) / 1_000_000));
+    }
+
+    private void arm(long delayMillis) {
+        timer.setInitialDelay((int) delayMillis);
+        timer.restart();
+    }
+}
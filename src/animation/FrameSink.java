@@ -0,0 +1,97 @@
+package animation;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Receives the frames of an {@link OfflineRenderer}.
+ * <p>
+ * The image passed to {@link #frame(int, BufferedImage)} is the renderer's own buffer and is drawn over by the next
+ * frame, so a sink that needs a frame later has to copy it. The built in sinks only keep one row (or one frame for
+ * the diffs) around, so memory stays the same however long the sequence is.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public interface FrameSink {
+
+    /**
+     * Called once before the first frame
+     * @param width - The frame width
+     * @param height - The frame height
+     * @param framesPerSecond - The frame rate
+     * @throws IOException if the sink can't be written to
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    default void begin(int width, int height, float framesPerSecond) throws IOException {
+    }
+
+    /**
+     * Called for every frame, in order
+     * @param index - The frame number, from 0
+     * @param image - The frame, {@code TYPE_INT_ARGB}, only valid during the call
+     * @throws IOException if the sink can't be written to
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    void frame(int index, BufferedImage image) throws IOException;
+
+    /**
+     * Called once after the last frame (also when rendering failed), flushes whatever is buffered
+     * @throws IOException if the sink can't be written to
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    default void end() throws IOException {
+    }
+
+    /**
+     * Writes every frame as raw 8 bit RGBA, row by row with no header, for example for
+     * {@code ffmpeg -f rawvideo -pix_fmt rgba -s WxH -r FPS -i -}. The stream is flushed but not closed
+     * @param out - Where to write
+     * @return the sink
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    static FrameSink rawRgba(OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out can not be null");
+        }
+        return new FrameSinks.RawRgba(out);
+    }
+
+    /**
+     * Writes every frame as a PNG file
+     * @param directory - The directory, created if it doesn't exist
+     * @param pattern - The file name, formatted with the frame number (for example {@code "frame-%05d.png"})
+     * @return the sink
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    static FrameSink pngSequence(Path directory, String pattern) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory can not be null");
+        }
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern can not be null");
+        }
+        return new FrameSinks.PngSequence(directory, pattern);
+    }
+
+    /**
+     * Writes one line per frame with the frame number, a CRC32 of its pixels and how many pixels changed since the
+     * previous frame, for comparing renders in tests and CI
+     * @param out - Where to write the lines
+     * @return the sink
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    static FrameSink checksums(Appendable out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out can not be null");
+        }
+        return new FrameSinks.Checksums(out);
+    }
+}
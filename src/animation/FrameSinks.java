@@ -0,0 +1,137 @@
+package animation;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * The built in {@link FrameSink}s
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class FrameSinks {
+
+    private FrameSinks() {
+    }
+
+    static final class RawRgba implements FrameSink {
+        private final OutputStream out;
+        private int[] row;
+        private byte[] bytes;
+
+        RawRgba(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(int width, int height, float framesPerSecond) {
+            row = new int[width];
+            bytes = new byte[width * 4];
+        }
+
+        @Override
+        public void frame(int index, BufferedImage image) throws IOException {
+            int width = image.getWidth();
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.getRaster().getDataElements(0, y, width, 1, row);
+                for (int x = 0, i = 0; x < width; x++) {
+                    int argb = row[x];
+                    bytes[i++] = (byte) (argb >> 16);
+                    bytes[i++] = (byte) (argb >> 8);
+                    bytes[i++] = (byte) argb;
+                    bytes[i++] = (byte) (argb >>> 24);
+                }
+                out.write(bytes);
+            }
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.flush();
+        }
+    }
+
+    static final class PngSequence implements FrameSink {
+        private final Path directory;
+        private final String pattern;
+
+        PngSequence(Path directory, String pattern) {
+            this.directory = directory;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public void begin(int width, int height, float framesPerSecond) throws IOException {
+            Files.createDirectories(directory);
+        }
+
+        @Override
+        public void frame(int index, BufferedImage image) throws IOException {
+            Path file = directory.resolve(String.format(pattern, index));
+            if (!ImageIO.write(image, "png", file.toFile())) {
+                throw new IOException("no PNG writer available");
+            }
+        }
+    }
+
+    static final class Checksums implements FrameSink {
+        private final Appendable out;
+        private final CRC32 crc = new CRC32();
+        private int[] row;
+        private byte[] bytes;
+        //the previous frame, for the diff
+        private int[] previous;
+        private boolean first;
+
+        Checksums(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(int width, int height, float framesPerSecond) {
+            row = new int[width];
+            bytes = new byte[width * 4];
+            previous = new int[width * height];
+            first = true;
+        }
+
+        @Override
+        public void frame(int index, BufferedImage image) throws IOException {
+            int width = image.getWidth();
+            crc.reset();
+            long changed = 0;
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.getRaster().getDataElements(0, y, width, 1, row);
+                int offset = y * width;
+                for (int x = 0, i = 0; x < width; x++) {
+                    int argb = row[x];
+                    bytes[i++] = (byte) (argb >>> 24);
+                    bytes[i++] = (byte) (argb >> 16);
+                    bytes[i++] = (byte) (argb >> 8);
+                    bytes[i++] = (byte) argb;
+                    if (previous[offset + x] != argb) {
+                        previous[offset + x] = argb;
+                        changed++;
+                    }
+                }
+                crc.update(bytes, 0, bytes.length);
+            }
+            //the first frame counts as fully changed
+            if (first) changed = (long) width * image.getHeight();
+            first = false;
+            out.append(Integer.toString(index)).append(' ')
+                    .append(String.format("%08x", crc.getValue())).append(' ')
+                    .append(Long.toString(changed)).append('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            if (out instanceof Flushable) ((Flushable) out).flush();
+        }
+    }
+}
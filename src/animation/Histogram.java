@@ -0,0 +1,121 @@
+package animation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size log-linear histogram of non-negative longs (nanoseconds, pixels, ...).
+ * <p>
+ * Like an HDR histogram, every power of two is split into 32 linear sub-buckets, so any recorded value is reported
+ * within about 3% and the whole long range fits in under 2000 counters. Recording is a couple of shifts and one
+ * atomic increment, it never allocates and never locks. Percentiles are read without stopping the writer, so a read
+ * that races with recording may be off by the values recorded meanwhile.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    //values below 64 exactly, then 32 sub-buckets for each power of two up to 2^62
+    private static final int BUCKETS = 2 * SUB_BUCKETS + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+    }
+
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long previous = max.get();
+        while (value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    //values below 64 get their own bucket, above that the top 6 bits (the leading 1 and 5 more) pick one of the
+    //32 sub-buckets of their power of two
+    private static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1);
+        return SUB_BUCKETS * shift + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * @return how many values were recorded
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the exact largest recorded value, 0 if nothing was recorded
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the exact mean of the recorded values, 0 if nothing was recorded
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Get the value below which a percentage of the recorded values fall
+     * @param percentile - The percentile, for example 50 for the median or 99.9
+     * @return the value (within about 3%), 0 if nothing was recorded
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+}
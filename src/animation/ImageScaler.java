@@ -0,0 +1,315 @@
+package animation;
+
+import javax.swing.ImageIcon;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scales images synchronously into compatible {@link BufferedImage}s and caches the results.
+ * <p>
+ * Downscaling by more than half is done in several bilinear (or bicubic) halving steps instead of one pass, which
+ * keeps the quality close to {@code Image.SCALE_SMOOTH} at a fraction of its cost and, unlike
+ * {@code getScaledInstance}, the returned image is fully rendered right away.
+ * <p>
+ * Results are kept in an LRU cache keyed by the identity of the source image, the target size and the quality.
+ * The cache is bounded by the bytes of pixel data it holds ({@link #setCacheCapacity(long)}), and entries of source
+ * images that were garbage collected are dropped on their own. Cached images are shared, so don't draw into them.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class ImageScaler {
+
+    public enum Quality {
+        /** One bilinear pass, fastest but aliases when shrinking a lot */
+        FAST,
+        /** Progressive bilinear halving */
+        BILINEAR,
+        /** Progressive bicubic halving, slowest */
+        BICUBIC
+    }
+
+    public static final long DEFAULT_CACHE_CAPACITY = 32L * 1024 * 1024;
+
+    private static final ImageScaler DEFAULT = new ImageScaler(DEFAULT_CACHE_CAPACITY);
+
+    private final LinkedHashMap<Key, BufferedImage> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Image> collected = new ReferenceQueue<>();
+    private long capacityBytes;
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a scaler with its own cache
+     * @param capacityBytes - How many bytes of scaled images to keep at most, 0 disables caching
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public ImageScaler(long capacityBytes) {
+        if (capacityBytes < 0) {
+            throw new IllegalArgumentException("capacityBytes can not be negative");
+        }
+        this.capacityBytes = capacityBytes;
+    }
+
+    /**
+     * @return the shared scaler used by {@link Utils#resizeTo(Image, int, int)}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static ImageScaler getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Scales an image with {@link Quality#BILINEAR}
+     * @param source - The image to scale
+     * @param width - The new width
+     * @param height - The new height
+     * @return the scaled image, shared with the cache
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public BufferedImage scale(Image source, int width, int height) {
+        return scale(source, width, height, Quality.BILINEAR);
+    }
+
+    /**
+     * Scales an image
+     * @param source - The image to scale
+     * @param width - The new width
+     * @param height - The new height
+     * @param quality - How to interpolate
+     * @return the scaled image, shared with the cache
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public BufferedImage scale(Image source, int width, int height, Quality quality) {
+        if (source == null) {
+            throw new IllegalArgumentException("source can not be null");
+        }
+        if (quality == null) {
+            throw new IllegalArgumentException("quality can not be null");
+        }
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Dimensions must be positive");
+
+        Key key = new Key(source, width, height, quality, null);
+        synchronized (this) {
+            purgeCollected();
+            BufferedImage cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        //scaled outside the lock, two threads asking for the same miss at once just both compute it
+        BufferedImage scaled = render(source, width, height, quality);
+
+        synchronized (this) {
+            long bytes = bytesOf(scaled);
+            if (bytes > capacityBytes) return scaled;
+            BufferedImage previous = cache.put(new Key(source, width, height, quality, collected), scaled);
+            if (previous != null) cachedBytes -= bytesOf(previous);
+            cachedBytes += bytes;
+            trimTo(capacityBytes);
+        }
+        return scaled;
+    }
+
+    /**
+     * Sets how many bytes of scaled images are kept, evicting the least recently used ones if needed
+     * @param capacityBytes - The capacity in bytes, 0 disables caching
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized void setCacheCapacity(long capacityBytes) {
+        if (capacityBytes < 0) {
+            throw new IllegalArgumentException("capacityBytes can not be negative");
+        }
+        this.capacityBytes = capacityBytes;
+        trimTo(capacityBytes);
+    }
+
+    /**
+     * @return the cache capacity in bytes
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized long getCacheCapacity() {
+        return capacityBytes;
+    }
+
+    /**
+     * @return the bytes of pixel data currently cached
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized long getCachedBytes() {
+        purgeCollected();
+        return cachedBytes;
+    }
+
+    /**
+     * @return how many requests were answered from the cache
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return how many requests had to scale
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Drops every cached image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public synchronized void clear() {
+        cache.clear();
+        cachedBytes = 0;
+        while (collected.poll() != null) {
+            //already gone from the map
+        }
+    }
+
+    private void trimTo(long limit) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = cache.entrySet().iterator();
+        while (cachedBytes > limit && it.hasNext()) {
+            cachedBytes -= bytesOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    private void purgeCollected() {
+        Object ref;
+        while ((ref = collected.poll()) != null) {
+            BufferedImage removed = cache.remove(ref);
+            if (removed != null) cachedBytes -= bytesOf(removed);
+        }
+    }
+
+    private static long bytesOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static BufferedImage render(Image source, int width, int height, Quality quality) {
+        BufferedImage current = toBuffered(source);
+        Object interpolation = quality == Quality.BICUBIC
+                ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+
+        int currentWidth = current.getWidth();
+        int currentHeight = current.getHeight();
+        if (quality != Quality.FAST) {
+            //halve until the next step is within 2x of the target, each step only averages neighbouring pixels
+            while (currentWidth / 2 >= width || currentHeight / 2 >= height) {
+                int stepWidth = Math.max(width, currentWidth / 2);
+                int stepHeight = Math.max(height, currentHeight / 2);
+                BufferedImage step = draw(current, stepWidth, stepHeight, interpolation);
+                if (current != source) current.flush();
+                current = step;
+                currentWidth = stepWidth;
+                currentHeight = stepHeight;
+            }
+        }
+        if (currentWidth == width && currentHeight == height && current != source) {
+            return current;
+        }
+        BufferedImage result = draw(current, width, height, interpolation);
+        if (current != source) current.flush();
+        return result;
+    }
+
+    private static BufferedImage draw(Image image, int width, int height, Object interpolation) {
+        BufferedImage target = createCompatible(width, height);
+        Graphics2D g = target.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    private static BufferedImage toBuffered(Image source) {
+        if (source instanceof BufferedImage) return (BufferedImage) source;
+        if (source.getWidth(null) < 0 || source.getHeight(null) < 0) {
+            //toolkit images load asynchronously, ImageIcon waits for them
+            source = new ImageIcon(source).getImage();
+        }
+        int width = source.getWidth(null);
+        int height = source.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("source image could not be loaded");
+        }
+        BufferedImage buffered = createCompatible(width, height);
+        Graphics2D g = buffered.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return buffered;
+    }
+
+    static BufferedImage createCompatible(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    //Weak on the source so caching a scaled copy never keeps the original alive
+    private static final class Key extends WeakReference<Image> {
+        private final int sourceHash;
+        private final int width;
+        private final int height;
+        private final Quality quality;
+
+        Key(Image source, int width, int height, Quality quality, ReferenceQueue<Image> queue) {
+            super(source, queue);
+            this.sourceHash = System.identityHashCode(source);
+            this.width = width;
+            this.height = height;
+            this.quality = quality;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            Image source = get();
+            return source != null && source == other.get()
+                    && width == other.width && height == other.height && quality == other.quality;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((sourceHash * 31 + width) * 31 + height) * 31 + quality.ordinal();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package animation;
+
+import java.util.Arrays;
+
+/**
+ * Any number of keyframes for one property of a component, played with
+ * {@link AnimationManager#animateKeyframes(javax.swing.JComponent, KeyframeTrack...)}.
+ * <p>
+ * Keys are kept sorted by time in primitive arrays, and every key has its own easing for the stretch leading up to
+ * it. Before the first key the property holds the first value, after the last key it holds the last one. Sampling
+ * remembers the segment it landed in last time and checks it (and the one after it) before falling back to a binary
+ * search, so playing a track forward costs the same no matter how many keys it has.
+ * <pre>
+ * KeyframeTrack x = new KeyframeTrack(KeyframeTrack.Property.X)
+ *         .key(0f, 50)
+ *         .key(1f, 300, Easing.EASE_OUT_QUAD)
+ *         .key(1.5f, 250, Easing.EASE_IN_OUT_SINE);
+ * KeyframeTrack opacity = new KeyframeTrack(KeyframeTrack.Property.OPACITY).key(0f, 0f).key(0.5f, 1f);
+ * animationManager.animateKeyframes(button, x, opacity);
+ * </pre>
+ * A track can be shared by any number of running animations, but once it has been played its keys can't change.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class KeyframeTrack {
+
+    /**
+     * The properties a track can animate
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public enum Property {
+        X,
+        Y,
+        WIDTH,
+        HEIGHT,
+        OPACITY,
+        /** In degrees, like {@link AnimationManager#animateRotation} */
+        ROTATION
+    }
+
+    private final Property property;
+    private int count;
+    private float[] times = new float[8];
+    private float[] values = new float[8];
+    //easing[i] runs from key i - 1 to key i
+    private EasingFunction[] easings = new EasingFunction[8];
+    private volatile boolean frozen;
+
+    //last segment sample() landed in, only a hint so racing readers are harmless
+    private int cursor;
+
+    /**
+     * Creates an empty track
+     * @param property - The property it animates
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public KeyframeTrack(Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("property can not be null");
+        }
+        this.property = property;
+    }
+
+    /**
+     * Adds a key reached linearly from the previous one
+     * @param time - When (in seconds from the start of the animation)
+     * @param value - The value of the property
+     * @return this track
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public KeyframeTrack key(float time, float value) {
+        return key(time, value, AnimationManager.Easing.LINEAR);
+    }
+
+    /**
+     * Adds a key. Keys can be added in any order, a key at the same time as an existing one is placed after it,
+     * so the value jumps there
+     * @param time - When (in seconds from the start of the animation)
+     * @param value - The value of the property
+     * @param easing - The easing from the previous key to this one
+     * @return this track
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public KeyframeTrack key(float time, float value, EasingFunction easing) {
+        if (frozen) {
+            throw new IllegalStateException("keys can not change once the track has been played");
+        }
+        if (!(time >= 0) || Float.isInfinite(time)) {
+            throw new IllegalArgumentException("time must be a finite, non-negative number");
+        }
+        if (easing == null) {
+            throw new IllegalArgumentException("easing can not be null");
+        }
+        if (count == times.length) {
+            times = Arrays.copyOf(times, count * 2);
+            values = Arrays.copyOf(values, count * 2);
+            easings = Arrays.copyOf(easings, count * 2);
+        }
+        int at = upperBound(time);
+        System.arraycopy(times, at, times, at + 1, count - at);
+        System.arraycopy(values, at, values, at + 1, count - at);
+        System.arraycopy(easings, at, easings, at + 1, count - at);
+        times[at] = time;
+        values[at] = value;
+        easings[at] = easing;
+        count++;
+        return this;
+    }
+
+    /**
+     * @return the property this track animates
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Property getProperty() {
+        return property;
+    }
+
+    /**
+     * @return how many keys the track has
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public int getKeyCount() {
+        return count;
+    }
+
+    /**
+     * @return the time of the last key (in seconds), 0 for an empty track
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getDuration() {
+        return count == 0 ? 0f : times[count - 1];
+    }
+
+    /**
+     * @return the value of the first key, what an additive track is relative to
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getFirstValue() {
+        if (count == 0) {
+            throw new IllegalStateException("track has no keys");
+        }
+        return values[0];
+    }
+
+    /**
+     * Get the value of the property at a point in time
+     * @param time - The time (in seconds)
+     * @return the value
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float sample(float time) {
+        if (count == 0) {
+            throw new IllegalStateException("track has no keys");
+        }
+        int segment = segmentAt(time, cursor);
+        cursor = segment;
+        return valueAt(segment, time);
+    }
+
+    /**
+     * Finds the last key at or before a time, starting from a hint (usually the result of the previous call)
+     * @return the key index, -1 before the first key
+     */
+    int segmentAt(float time, int hint) {
+        if (hint >= 0 && hint < count && times[hint] <= time) {
+            //still in the same segment, or moved into the next one
+            if (hint + 1 == count || time < times[hint + 1]) return hint;
+            if (hint + 2 == count || time < times[hint + 2]) return hint + 1;
+        }
+        return upperBound(time) - 1;
+    }
+
+    float valueAt(int segment, float time) {
+        if (segment < 0) return values[0];
+        if (segment >= count - 1) return values[count - 1];
+        float from = times[segment];
+        float progress = (time - from) / (times[segment + 1] - from);
+        float eased = easings[segment + 1].ease(progress);
+        return values[segment] + (values[segment + 1] - values[segment]) * eased;
+    }
+
+    //number of keys at or before time
+    private int upperBound(float time) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //called when the track starts playing, so the store can read the arrays without copying them
+    void freeze() {
+        if (count == 0) {
+            throw new IllegalArgumentException("track has no keys");
+        }
+        frozen = true;
+    }
+}
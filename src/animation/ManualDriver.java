@@ -0,0 +1,133 @@
+package animation;
+
+/**
+ * Drives an {@link AnimationManager} in virtual time, nothing happens until the time is advanced.
+ * <pre>
+ * ManualDriver driver = AnimationDriver.manual();
+ * AnimationManager manager = new AnimationManager(driver);
+ * manager.animateMove(button, 100, 0, 1f, Easing.LINEAR);
+ * driver.advance(0.5f, 1 / 60f); //half a second at 60fps
+ * assert button.getX() == 50;
+ * </pre>
+ * Animations start at the time they were submitted, so after {@code advance(0.5f, ...)} a one second move is
+ * exactly halfway. Frames run on the calling thread, which should be the thread that owns the components (the EDT,
+ * or the test thread for components that are never shown). Parallel interpolation is waited for, so every run is the same.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class ManualDriver extends AnimationDriver {
+
+    private AnimationManager manager;
+    private volatile long now;
+
+    ManualDriver() {
+    }
+
+    /**
+     * Moves time forward and runs one frame at the new time
+     * @param seconds - How far (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void advance(float seconds) {
+        if (!(seconds >= 0)) {
+            throw new IllegalArgumentException("seconds can not be negative");
+        }
+        advanceNanos(Math.round(seconds * 1_000_000_000.0));
+    }
+
+    /**
+     * Moves time forward in steps, running a frame after each one (and a shorter last one if it doesn't divide evenly)
+     * @param seconds - How far (in seconds)
+     * @param step - The time between frames (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void advance(float seconds, float step) {
+        if (!(seconds >= 0)) {
+            throw new IllegalArgumentException("seconds can not be negative");
+        }
+        if (!(step > 0)) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        long end = now + Math.round(seconds * 1_000_000_000.0);
+        long stepNanos = Math.max(1, Math.round(step * 1_000_000_000.0));
+        while (now < end) {
+            step(Math.min(end, now + stepNanos));
+        }
+    }
+
+    /**
+     * Moves time forward and runs one frame at the new time
+     * @param nanos - How far (in nanoseconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void advanceNanos(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("nanos can not be negative");
+        }
+        step(now + nanos);
+    }
+
+    /**
+     * Runs a frame without moving time, for example to start animations that were just submitted
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void frame() {
+        runFrameAt(now);
+    }
+
+    /**
+     * @return how much time has passed (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getTime() {
+        return now / 1_000_000_000.0f;
+    }
+
+    private void step(long time) {
+        //whatever was submitted since the last frame started now, so it gets the whole step instead of starting late
+        if (manager != null && manager.hasSubmissions()) {
+            runFrameAt(now);
+        }
+        runFrameAt(time);
+    }
+
+    //jumps to an absolute time, used by OfflineRenderer which works out frame times itself
+    void runFrameAt(long time) {
+        if (manager == null) {
+            throw new IllegalStateException("driver isn't driving a manager");
+        }
+        now = time;
+        manager.tick(time);
+    }
+
+    @Override
+    long nanoTime() {
+        return now;
+    }
+
+    @Override
+    void attach(AnimationManager manager) {
+        this.manager = checkAttach(this.manager, manager);
+    }
+
+    @Override
+    void wake() {
+        //only runs when told to
+    }
+
+    @Override
+    boolean waitsForWorkers() {
+        return true;
+    }
+
+    //60 steps of 1/60f add up to 0.9999997, so a 1s animation still finishes on the 60th step
+    @Override
+    float endTolerance() {
+        return 1e-4f;
+    }
+}
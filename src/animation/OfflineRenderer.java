@@ -0,0 +1,174 @@
+package animation;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Renders animations frame by frame at a fixed timestep, as fast as the machine can go and the same way every time.
+ * <p>
+ * The renderer owns an {@link AnimationManager} on a {@link ManualDriver}, so it never ticks on its own. Build the
+ * scene with {@link #getAnimationManager()} (animations, {@link Timeline}s and {@link EventManager events} all work),
+ * then {@link #render(JComponent, float, FrameSink) render} it: every frame advances the manager and its events by
+ * exactly {@code 1 / framesPerSecond} seconds, paints the component tree into one reused image and hands that image
+ * to a {@link FrameSink}. Nothing is kept per frame, so a long sequence uses as much memory as a short one. It works
+ * headless ({@code -Djava.awt.headless=true}).
+ * <pre>
+ * OfflineRenderer renderer = new OfflineRenderer(800, 600, 60);
+ * JPanel scene = buildScene(renderer.getAnimationManager());
+ * renderer.render(scene, 12f, FrameSink.pngSequence(Paths.get("frames"), "frame-%05d.png"));
+ * </pre>
+ * Parallel interpolation is waited for instead of skipping frames, so the output doesn't depend on timing.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class OfflineRenderer {
+
+    private final int width;
+    private final int height;
+    private final float framesPerSecond;
+    private final ManualDriver driver = AnimationDriver.manual();
+    private final AnimationManager manager = new AnimationManager(driver);
+    private final BufferedImage image;
+    private int frame;
+
+    /**
+     * Creates a renderer
+     * @param width - The frame width
+     * @param height - The frame height
+     * @param framesPerSecond - How many frames one second of animation is split into
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public OfflineRenderer(int width, int height, float framesPerSecond) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Dimensions must be positive");
+        if (!(framesPerSecond > 0) || Float.isInfinite(framesPerSecond)) {
+            throw new IllegalArgumentException("framesPerSecond must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.framesPerSecond = framesPerSecond;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * @return the manager to build the scene with, its time only moves when frames are rendered
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationManager getAnimationManager() {
+        return manager;
+    }
+
+    /**
+     * @return how many frames were rendered so far
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public int getFrameCount() {
+        return frame;
+    }
+
+    /**
+     * @return the time of the next frame (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getTime() {
+        return frame / framesPerSecond;
+    }
+
+    /**
+     * Renders the next frame, must be called on the EDT
+     * @param root - The component tree to paint, it's laid out at the renderer's size
+     * @return the frame, the same image every call, drawn over by the next one
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public BufferedImage renderFrame(JComponent root) {
+        if (root == null) {
+            throw new IllegalArgumentException("root can not be null");
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("renderFrame must be called on the EDT");
+        }
+        //from the frame number instead of adding up a step, so rounding doesn't drift over long sequences
+        long now = Math.round(frame * (1_000_000_000.0 / framesPerSecond));
+        frame++;
+        driver.runFrameAt(now);
+
+        if (root.getWidth() != width || root.getHeight() != height) {
+            root.setBounds(0, 0, width, height);
+        }
+        root.validate();
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+            //printing paints straight into the graphics, without Swing's on screen back buffer
+            root.printAll(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Renders a stretch of frames into a sink. Runs on the EDT, when called from another thread it waits for it
+     * @param root - The component tree to paint
+     * @param seconds - How much animation to render, {@code seconds * framesPerSecond} frames (rounded)
+     * @param sink - Where the frames go
+     * @throws IOException if the sink fails
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void render(JComponent root, float seconds, FrameSink sink) throws IOException {
+        if (sink == null) {
+            throw new IllegalArgumentException("sink can not be null");
+        }
+        if (!(seconds >= 0)) {
+            throw new IllegalArgumentException("seconds can not be negative");
+        }
+        int frames = Math.round(seconds * framesPerSecond);
+        if (SwingUtilities.isEventDispatchThread()) {
+            renderFrames(root, frames, sink);
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    renderFrames(root, frames, sink);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while rendering", e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private void renderFrames(JComponent root, int frames, FrameSink sink) throws IOException {
+        sink.begin(width, height, framesPerSecond);
+        try {
+            int first = frame;
+            for (int i = 0; i < frames; i++) {
+                sink.frame(first + i, renderFrame(root));
+            }
+        } finally {
+            sink.end();
+        }
+    }
+}
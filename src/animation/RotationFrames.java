@@ -0,0 +1,135 @@
+package animation;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Pre-rotated copies of an image at fixed angle steps, for images that spin.
+ * <p>
+ * Drawing an image through a rotated transform resamples it every frame. With a set of frames baked every
+ * {@code step} degrees (2 by default) a spinning icon is drawn with a plain blit of the closest frame instead.
+ * Frames are baked the first time their angle is needed, or all at once with {@link #bakeAll()}.
+ * Multiples of 90 degrees use the raster fast path of {@link Utils#rotateImageRightAngles(BufferedImage, float)}.
+ * <p>
+ * Every frame is as big as the rotated image's bounding box, so memory grows with {@code 360 / step} frames.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class RotationFrames {
+
+    public static final float DEFAULT_STEP = 2f;
+
+    private final BufferedImage source;
+    private final float step;
+    private final BufferedImage[] frames;
+
+    /**
+     * Creates frames every {@link #DEFAULT_STEP} degrees
+     * @param source - The unrotated image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public RotationFrames(BufferedImage source) {
+        this(source, DEFAULT_STEP);
+    }
+
+    /**
+     * Creates frames every {@code step} degrees, steps that don't divide 360 are rounded so they do
+     * @param source - The unrotated image
+     * @param step - The angle between two frames in degrees
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public RotationFrames(BufferedImage source, float step) {
+        if (source == null) {
+            throw new IllegalArgumentException("source can not be null");
+        }
+        if (!(step > 0) || step > 360) {
+            throw new IllegalArgumentException("step must be in (0, 360]");
+        }
+        this.source = source;
+        int count = Math.max(1, Math.round(360f / step));
+        this.step = 360f / count;
+        this.frames = new BufferedImage[count];
+        frames[0] = source;
+    }
+
+    /**
+     * Get the frame closest to an angle, baking it if needed
+     * @param degrees - The rotation in degrees, clockwise
+     * @return the rotated image, centered on the source's center
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public BufferedImage getFrame(float degrees) {
+        int index = indexOf(degrees);
+        BufferedImage frame = frames[index];
+        if (frame == null) {
+            frame = Utils.rotateImage(source, index * step);
+            frames[index] = frame;
+        }
+        return frame;
+    }
+
+    /**
+     * Draws the frame closest to an angle centered on a point
+     * @param g - The graphics
+     * @param degrees - The rotation in degrees, clockwise
+     * @param centerX - x of the center
+     * @param centerY - y of the center
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void draw(Graphics2D g, float degrees, double centerX, double centerY) {
+        BufferedImage frame = getFrame(degrees);
+        g.drawImage(frame, (int) Math.round(centerX - frame.getWidth() / 2.0), (int) Math.round(centerY - frame.getHeight() / 2.0), null);
+    }
+
+    /**
+     * Bakes every frame right away, so spinning never bakes in the middle of an animation
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void bakeAll() {
+        for (int i = 0; i < frames.length; i++) {
+            getFrame(i * step);
+        }
+    }
+
+    /**
+     * Drops every baked frame
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void release() {
+        for (int i = 1; i < frames.length; i++) {
+            if (frames[i] != null) {
+                frames[i].flush();
+                frames[i] = null;
+            }
+        }
+    }
+
+    /**
+     * @return the angle between two frames in degrees
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * @return how many frames there are when all are baked
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    private int indexOf(float degrees) {
+        float normalized = ((degrees % 360f) + 360f) % 360f;
+        return Math.round(normalized / step) % frames.length;
+    }
+}
@@ -0,0 +1,83 @@
+package animation;
+
+import javax.swing.SwingUtilities;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives an {@link AnimationManager} from the process wide {@link SharedFrameScheduler} instead of a timer of its own.
+ * <p>
+ * The fields are the manager's registration, apart from {@link #parked} they are only touched on the EDT. The
+ * scheduler only holds {@link #ref}, so a manager nobody uses anymore is collected (and dropped) together with its
+ * driver.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class SharedDriver extends AnimationDriver {
+
+    private final SharedFrameScheduler scheduler;
+    private final long intervalNanos;
+    private final Runnable resumeOnEdt = this::resume;
+
+    final WeakReference<SharedDriver> ref = new WeakReference<>(this);
+    final AtomicBoolean parked = new AtomicBoolean(false);
+    AnimationManager manager;
+    volatile boolean running;
+    //in the scheduler's list
+    boolean registered;
+    //-1 while animating, otherwise the System.nanoTime() of the next event
+    long dueAt = -1;
+    //the shared frame this manager's rounded rate counts from
+    long phase;
+
+    SharedDriver(SharedFrameScheduler scheduler, int intervalMillis) {
+        this.scheduler = scheduler;
+        this.intervalNanos = Math.max(0, intervalMillis) * 1_000_000L;
+    }
+
+    /**
+     * @return every how many shared frames this manager runs, its interval rounded to a multiple of the base one
+     */
+    long divisor(long baseNanos) {
+        if (intervalNanos <= baseNanos) return 1;
+        return Math.max(1, Math.round((double) intervalNanos / baseNanos));
+    }
+
+    @Override
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    void attach(AnimationManager manager) {
+        this.manager = checkAttach(this.manager, manager);
+    }
+
+    @Override
+    void start() {
+        running = true;
+        parked.set(true);
+        wake();
+    }
+
+    @Override
+    void stop() {
+        //the scheduler drops it on its next frame
+        running = false;
+        parked.set(false);
+    }
+
+    @Override
+    void wake() {
+        if (!running || !parked.compareAndSet(true, false)) return;
+        if (SwingUtilities.isEventDispatchThread()) {
+            resume();
+        } else {
+            SwingUtilities.invokeLater(resumeOnEdt);
+        }
+    }
+
+    private void resume() {
+        if (running) scheduler.activate(this);
+    }
+}
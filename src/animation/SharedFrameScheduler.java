@@ -0,0 +1,188 @@
+package animation;
+
+import javax.swing.Timer;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ * One Swing {@link Timer} for every {@link AnimationManager} created with {@link AnimationDriver#shared(int)}.
+ * <p>
+ * Every frame is one EDT callback that takes one {@code System.nanoTime()} and ticks all the managers that are due with
+ * it, so managers in different windows move in step and there is only one timer event per frame no matter how many
+ * managers there are. Frames are paced against absolute deadlines like {@link FrameScheduler}. The base rate is
+ * {@link #setBaseInterval(int)}, a manager with a longer interval runs every {@code n}th frame, its interval rounded
+ * to the nearest multiple of the base one.
+ * <p>
+ * A manager with nothing to animate is taken out of the frame loop: it stays registered only until its next due
+ * {@link Event}, or is dropped until something is submitted to it again. Managers are held weakly, one that was
+ * garbage collected is dropped as well. When nothing is registered the timer stops.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class SharedFrameScheduler {
+
+    static final SharedFrameScheduler INSTANCE = new SharedFrameScheduler();
+
+    private final Timer timer;
+    //EDT only
+    private final ArrayList<WeakReference<SharedDriver>> drivers = new ArrayList<>();
+    private volatile long baseNanos = 16_000_000L;
+    private long frame;
+    private long nextDeadline;
+    //false when the timer is stopped or was armed for an event instead of by pacing
+    private boolean paced;
+
+    private SharedFrameScheduler() {
+        timer = new Timer(0, e -> frame());
+        timer.setRepeats(false);
+        //re-armed from inside its own callback, a coalescing timer would drop a 0ms event (see FrameScheduler)
+        timer.setCoalesce(false);
+    }
+
+    void setBaseInterval(int intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be positive");
+        }
+        baseNanos = intervalMillis * 1_000_000L;
+    }
+
+    int getBaseInterval() {
+        return (int) (baseNanos / 1_000_000L);
+    }
+
+    /**
+     * Puts a manager (back) into the frame loop, it runs on the next frame. EDT only
+     */
+    void activate(SharedDriver driver) {
+        if (!driver.registered) {
+            driver.registered = true;
+            drivers.add(driver.ref);
+        }
+        //the time it slept wasn't a frame interval
+        driver.manager.getStats().recordPause();
+        driver.dueAt = -1;
+        driver.phase = frame + 1;
+        if (!paced) {
+            //nothing was ticking, pacing starts from the next frame
+            arm(0);
+        }
+    }
+
+    private void frame() {
+        long now = System.nanoTime();
+        long base = baseNanos;
+        //armed by activate() or for an event, so there's no real deadline
+        if (!paced) nextDeadline = now;
+        frame++;
+        long lateness = now - nextDeadline;
+        if (lateness > base / 2 && AnimationLateFrameEvent.TYPE.isEnabled()) {
+            AnimationLateFrameEvent event = new AnimationLateFrameEvent();
+            event.lateness = lateness;
+            event.droppedFrames = lateness / base;
+            event.commit();
+        }
+
+        boolean animating = false;
+        long wakeAt = Long.MAX_VALUE;
+        RuntimeException failure = null;
+        int kept = 0;
+        //activate() may append while a manager ticks, those start next frame
+        for (int i = 0; i < drivers.size(); i++) {
+            WeakReference<SharedDriver> ref = drivers.get(i);
+            SharedDriver driver = ref.get();
+            if (driver == null) continue;
+            if (!driver.running) {
+                driver.registered = false;
+                continue;
+            }
+            boolean waiting = driver.dueAt != -1;
+            long divisor = driver.divisor(base);
+            if (waiting ? driver.dueAt - now <= 0 : (frame - driver.phase) % divisor == 0) {
+                try {
+                    run(driver, now, base * divisor, waiting);
+                } catch (RuntimeException e) {
+                    //one broken manager shouldn't stop the others, rethrown once everything ran
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+            if (!driver.registered) continue;
+            drivers.set(kept++, ref);
+            if (driver.dueAt == -1) {
+                animating = true;
+            } else if (driver.dueAt - wakeAt < 0) {
+                wakeAt = driver.dueAt;
+            }
+        }
+        drivers.subList(kept, drivers.size()).clear();
+
+        if (animating) {
+            nextDeadline += base;
+            long after = System.nanoTime();
+            if (after - nextDeadline > base) {
+                //fell behind by more than a frame, drop the missed ones instead of bursting to catch up
+                recordDropped((after - nextDeadline) / base);
+                nextDeadline = after + base;
+            }
+            paced = true;
+            arm(Math.max(0, Math.round((nextDeadline - after) / 1_000_000.0)));
+        } else {
+            paced = false;
+            if (wakeAt == Long.MAX_VALUE) {
+                timer.stop();
+            } else {
+                long delay = wakeAt - System.nanoTime();
+                //round up so an event never wakes us a hair early
+                arm(delay <= 0 ? 0 : Math.min(Integer.MAX_VALUE, (delay + 999_999) / 1_000_000));
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void run(SharedDriver driver, long now, long intervalNanos, boolean waiting) {
+        AnimationManager manager = driver.manager;
+        try {
+            manager.tick(now, waiting ? now : nextDeadline, intervalNanos);
+        } finally {
+            if (manager.idleUntil() >= 0) {
+                park(driver);
+            } else if (waiting) {
+                //an event started something, run at its rate from here
+                driver.parked.set(false);
+                driver.dueAt = -1;
+                driver.phase = frame;
+            }
+        }
+    }
+
+    private void park(SharedDriver driver) {
+        driver.parked.set(true);
+        //read again once parked, whatever was submitted (or scheduled) in between didn't see it parked
+        long wakeAt = driver.manager.idleUntil();
+        if (wakeAt < 0) {
+            driver.wake();
+            return;
+        }
+        if (wakeAt == Long.MAX_VALUE) {
+            //wake() registers it again
+            driver.registered = false;
+            driver.dueAt = -1;
+        } else {
+            driver.dueAt = wakeAt;
+        }
+    }
+
+    private void recordDropped(long count) {
+        for (WeakReference<SharedDriver> ref : drivers) {
+            SharedDriver driver = ref.get();
+            if (driver != null && driver.dueAt == -1 && driver.manager.getStats().isEnabled()) {
+                driver.manager.getStats().recordDropped(count / driver.divisor(baseNanos));
+            }
+        }
+    }
+
+    private void arm(long delayMillis) {
+        timer.setInitialDelay((int) delayMillis);
+        timer.restart();
+    }
+}
@@ -0,0 +1,895 @@
+package animation;
+
+import animation.customComponents.AnimatedJComponent;
+import animation.customComponents.AnimationState;
+
+import javax.swing.JComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * A compiled piece of choreography that an {@link AnimationManager} plays back.
+ * <p>
+ * A timeline is described with {@link Part}s: tweens ({@link #move}, {@link #scale}, {@link #fade},
+ * {@link #rotate}), {@link #call callbacks} and {@link #delay delays}, composed with {@link #sequence},
+ * {@link #parallel}, {@link #stagger} and {@link #repeat}. {@link #compile(Part)} flattens that tree once into
+ * arrays of segments sorted by start time (and an index sorted by end time), so while playing the manager only walks
+ * a cursor forward (or backward) and evaluates the segments that are currently running, no matter how long the
+ * timeline is. Seeking, reversing and changing the rate work on the compiled timeline without rebuilding it.
+ * <p>
+ * Like {@link AnimationManager#animateMove} and friends, a tween starts from whatever its target looks like when the
+ * tween first starts. That start value is kept from then on, so seeking back and playing again repeats the same
+ * motion. Callbacks only fire while playing forward. The control methods are safe to call from any thread,
+ * they take effect on the next frame.
+ * <pre>
+ * Timeline intro = Timeline.compile(Timeline.sequence(
+ *         Timeline.fade(logo, 1f, 0.5f, Easing.EASE_OUT_SINE),
+ *         Timeline.parallel(
+ *                 Timeline.move(logo, 100, 50, 1f, Easing.EASE_IN_OUT_CUBIC),
+ *                 Timeline.rotate(logo, 360, 1f, Easing.EASE_IN_OUT_CUBIC)),
+ *         Timeline.delay(0.25f),
+ *         Timeline.call(() -&gt; System.out.println("done"))));
+ * animationManager.play(intro);
+ * </pre>
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class Timeline {
+
+    //not one of the store's types
+    private static final byte CALL = -1;
+
+    //Segments, sorted by start time
+    private final int segmentCount;
+    private final byte[] type;
+    private final int[] targetOf;
+    private final float[] start;
+    private final float[] end;
+    private final EasingFunction[] easing;
+    private final float[] endA;
+    private final float[] endB;
+    private final Runnable[] actions;
+    //segment indices sorted by end time, latest first, for playing backward
+    private final int[] byEndDescending;
+
+    //Start values, captured the first time a segment starts
+    private final boolean[] captured;
+    private final float[] startA;
+    private final float[] startB;
+    private final float[] centerX;
+    private final float[] centerY;
+    private final float[] baseWidth;
+    private final float[] baseHeight;
+
+    private final JComponent[] targets;
+    private AnimationState[] states;
+    private final float duration;
+
+    //Playback, only touched on the ticking thread
+    private final FrameBuffer frame = new FrameBuffer();
+    private int[] active = new int[16];
+    private int activeCount;
+    private int startCursor;
+    private int endCursor;
+    private boolean playingBackward;
+    private boolean started;
+
+    //Control, written from any thread
+    private volatile AnimationManager manager;
+    private volatile float position;
+    private volatile float rate = 1f;
+    private volatile boolean reversed;
+    private volatile boolean looping;
+    private volatile boolean paused;
+    private volatile boolean stopRequested;
+    private volatile float pendingSeek = Float.NaN;
+    private volatile Runnable onFinished;
+
+    private Timeline(Compiler compiler, float duration) {
+        int n = compiler.count;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        //stable, so segments that start together keep their declaration order (and the later one wins)
+        Arrays.sort(order, (a, b) -> Float.compare(compiler.start[a], compiler.start[b]));
+
+        segmentCount = n;
+        type = new byte[n];
+        targetOf = new int[n];
+        start = new float[n];
+        end = new float[n];
+        easing = new EasingFunction[n];
+        endA = new float[n];
+        endB = new float[n];
+        actions = new Runnable[n];
+        for (int i = 0; i < n; i++) {
+            int from = order[i];
+            type[i] = compiler.type[from];
+            targetOf[i] = compiler.targetOf[from];
+            start[i] = compiler.start[from];
+            end[i] = compiler.start[from] + compiler.length[from];
+            easing[i] = compiler.easing[from];
+            endA[i] = compiler.endA[from];
+            endB[i] = compiler.endB[from];
+            actions[i] = compiler.actions[from];
+        }
+
+        Integer[] ends = new Integer[n];
+        for (int i = 0; i < n; i++) ends[i] = i;
+        Arrays.sort(ends, (a, b) -> end[a] != end[b] ? Float.compare(end[b], end[a]) : Integer.compare(b, a));
+        byEndDescending = new int[n];
+        for (int i = 0; i < n; i++) byEndDescending[i] = ends[i];
+
+        captured = new boolean[n];
+        startA = new float[n];
+        startB = new float[n];
+        centerX = new float[n];
+        centerY = new float[n];
+        baseWidth = new float[n];
+        baseHeight = new float[n];
+
+        targets = compiler.targets.toArray(new JComponent[0]);
+        this.duration = duration;
+    }
+
+    /**
+     * Flattens a description into a timeline that can be played
+     * @param root - The description
+     * @return the compiled timeline
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Timeline compile(Part root) {
+        if (root == null) {
+            throw new IllegalArgumentException("root can not be null");
+        }
+        Compiler compiler = new Compiler();
+        root.emit(compiler, 0f);
+        return new Timeline(compiler, root.duration());
+    }
+
+    //Builder
+
+    /**
+     * A piece of a timeline, built with the static methods of {@link Timeline}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public abstract static class Part {
+
+        Part() {
+        }
+
+        /**
+         * @return how long this part lasts (in seconds)
+         */
+        public abstract float duration();
+
+        abstract void emit(Compiler compiler, float offset);
+    }
+
+    /**
+     * Moves a component
+     * @param target - The JComponent
+     * @param toX - The new x
+     * @param toY - The new y
+     * @param duration - The duration (in seconds)
+     * @param easing - The easing
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part move(JComponent target, float toX, float toY, float duration, EasingFunction easing) {
+        return new Tween(AnimationStore.MOVE, target, toX, toY, duration, easing);
+    }
+
+    /**
+     * Scales a component around its center, relative to its size when the part starts
+     * @param target - The JComponent
+     * @param toScaleX - The new x scale (1 is 100%)
+     * @param toScaleY - The new y scale (1 is 100%)
+     * @param duration - The duration (in seconds)
+     * @param easing - The easing
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part scale(JComponent target, float toScaleX, float toScaleY, float duration, EasingFunction easing) {
+        return new Tween(AnimationStore.SCALE, target, toScaleX, toScaleY, duration, easing);
+    }
+
+    /**
+     * Fades an animated component
+     * @param target - The AnimatedJComponent
+     * @param toOpacity - The new opacity (0-1)
+     * @param duration - The duration (in seconds)
+     * @param easing - The easing
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part fade(AnimatedJComponent target, float toOpacity, float duration, EasingFunction easing) {
+        return new Tween(AnimationStore.FADE, (JComponent) target, toOpacity, 0f, duration, easing);
+    }
+
+    /**
+     * Rotates an animated component
+     * @param target - The AnimatedJComponent
+     * @param toRotationDegrees - The new rotation in degrees
+     * @param duration - The duration (in seconds)
+     * @param easing - The easing
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part rotate(AnimatedJComponent target, float toRotationDegrees, float duration, EasingFunction easing) {
+        return new Tween(AnimationStore.ROTATION, (JComponent) target, (float) Math.toRadians(toRotationDegrees), 0f, duration, easing);
+    }
+
+    /**
+     * Runs code at this point of the timeline (only while playing forward)
+     * @param action - The code, runs on the EDT
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part call(Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action can not be null");
+        }
+        return new Call(action);
+    }
+
+    /**
+     * Waits
+     * @param duration - How long (in seconds)
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part delay(float duration) {
+        if (!(duration >= 0)) {
+            throw new IllegalArgumentException("duration can not be negative");
+        }
+        return new Delay(duration);
+    }
+
+    /**
+     * Plays parts one after another
+     * @param parts - The parts
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part sequence(Part... parts) {
+        return new Group(parts, Group.SEQUENCE, 0f);
+    }
+
+    /**
+     * Plays parts at the same time, it lasts as long as the longest one
+     * @param parts - The parts
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part parallel(Part... parts) {
+        return new Group(parts, Group.PARALLEL, 0f);
+    }
+
+    /**
+     * Plays parts in parallel, each one starting a bit after the previous one
+     * @param each - The time between two starts (in seconds)
+     * @param parts - The parts
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part stagger(float each, Part... parts) {
+        if (!(each >= 0)) {
+            throw new IllegalArgumentException("each can not be negative");
+        }
+        return new Group(parts, Group.STAGGER, each);
+    }
+
+    /**
+     * Plays a part several times in a row, see {@link #setLooping(boolean)} to repeat a whole timeline forever
+     * @param times - How many times
+     * @param part - The part
+     * @return the part
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static Part repeat(int times, Part part) {
+        if (times < 1) {
+            throw new IllegalArgumentException("times must be at least 1");
+        }
+        Part[] parts = new Part[times];
+        Arrays.fill(parts, part);
+        return new Group(parts, Group.SEQUENCE, 0f);
+    }
+
+    private static final class Tween extends Part {
+        final byte type;
+        final JComponent target;
+        final float endA;
+        final float endB;
+        final float duration;
+        final EasingFunction easing;
+
+        Tween(byte type, JComponent target, float endA, float endB, float duration, EasingFunction easing) {
+            if (target == null) {
+                throw new IllegalArgumentException("target can not be null");
+            }
+            if (easing == null) {
+                throw new IllegalArgumentException("easing can not be null");
+            }
+            if (!(duration >= 0)) {
+                throw new IllegalArgumentException("duration can not be negative");
+            }
+            this.type = type;
+            this.target = target;
+            this.endA = endA;
+            this.endB = endB;
+            this.duration = duration;
+            this.easing = easing;
+        }
+
+        @Override
+        public float duration() {
+            return duration;
+        }
+
+        @Override
+        void emit(Compiler compiler, float offset) {
+            compiler.add(type, compiler.targetIndex(target), offset, duration, easing, endA, endB, null);
+        }
+    }
+
+    private static final class Call extends Part {
+        final Runnable action;
+
+        Call(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public float duration() {
+            return 0f;
+        }
+
+        @Override
+        void emit(Compiler compiler, float offset) {
+            compiler.add(CALL, -1, offset, 0f, null, 0f, 0f, action);
+        }
+    }
+
+    private static final class Delay extends Part {
+        final float duration;
+
+        Delay(float duration) {
+            this.duration = duration;
+        }
+
+        @Override
+        public float duration() {
+            return duration;
+        }
+
+        @Override
+        void emit(Compiler compiler, float offset) {
+            //nothing happens during a delay
+        }
+    }
+
+    private static final class Group extends Part {
+        static final int SEQUENCE = 0;
+        static final int PARALLEL = 1;
+        static final int STAGGER = 2;
+
+        final Part[] parts;
+        final int kind;
+        final float each;
+        final float duration;
+
+        Group(Part[] parts, int kind, float each) {
+            if (parts == null) {
+                throw new IllegalArgumentException("parts can not be null");
+            }
+            this.parts = parts.clone();
+            this.kind = kind;
+            this.each = each;
+            float total = 0f;
+            for (int i = 0; i < this.parts.length; i++) {
+                Part part = this.parts[i];
+                if (part == null) {
+                    throw new IllegalArgumentException("parts can not contain null");
+                }
+                if (kind == SEQUENCE) {
+                    total += part.duration();
+                } else {
+                    total = Math.max(total, i * each + part.duration());
+                }
+            }
+            this.duration = total;
+        }
+
+        @Override
+        public float duration() {
+            return duration;
+        }
+
+        @Override
+        void emit(Compiler compiler, float offset) {
+            float at = offset;
+            for (int i = 0; i < parts.length; i++) {
+                if (kind == SEQUENCE) {
+                    parts[i].emit(compiler, at);
+                    at += parts[i].duration();
+                } else {
+                    parts[i].emit(compiler, offset + i * each);
+                }
+            }
+        }
+    }
+
+    //Collects the segments of a part tree in declaration order
+    static final class Compiler {
+        int count;
+        byte[] type = new byte[16];
+        int[] targetOf = new int[16];
+        float[] start = new float[16];
+        float[] length = new float[16];
+        EasingFunction[] easing = new EasingFunction[16];
+        float[] endA = new float[16];
+        float[] endB = new float[16];
+        Runnable[] actions = new Runnable[16];
+        final List<JComponent> targets = new ArrayList<>();
+        private final IdentityHashMap<JComponent, Integer> targetIndices = new IdentityHashMap<>();
+
+        int targetIndex(JComponent target) {
+            Integer index = targetIndices.get(target);
+            if (index == null) {
+                index = targets.size();
+                targets.add(target);
+                targetIndices.put(target, index);
+            }
+            return index;
+        }
+
+        void add(byte segmentType, int target, float at, float duration, EasingFunction ease, float a, float b, Runnable action) {
+            if (count == type.length) {
+                int capacity = count * 2;
+                type = Arrays.copyOf(type, capacity);
+                targetOf = Arrays.copyOf(targetOf, capacity);
+                start = Arrays.copyOf(start, capacity);
+                length = Arrays.copyOf(length, capacity);
+                easing = Arrays.copyOf(easing, capacity);
+                endA = Arrays.copyOf(endA, capacity);
+                endB = Arrays.copyOf(endB, capacity);
+                actions = Arrays.copyOf(actions, capacity);
+            }
+            type[count] = segmentType;
+            targetOf[count] = target;
+            start[count] = at;
+            length[count] = duration;
+            easing[count] = ease;
+            endA[count] = a;
+            endB[count] = b;
+            actions[count] = action;
+            count++;
+        }
+    }
+
+    //Control
+
+    /**
+     * @return how long the timeline lasts (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return where playback is (in seconds), as of the last frame
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getPosition() {
+        return position;
+    }
+
+    /**
+     * Jumps to a point in time, every target is put where the timeline has it at that point
+     * @param seconds - The position, clamped to the timeline
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void seek(float seconds) {
+        if (Float.isNaN(seconds)) {
+            throw new IllegalArgumentException("seconds can not be NaN");
+        }
+        pendingSeek = Math.max(0f, Math.min(duration, seconds));
+        wakeManager();
+    }
+
+    /**
+     * Sets the playback speed, 1 is normal speed, 2 twice as fast
+     * @param rate - The rate, must be positive (use {@link #setReversed(boolean)} to play backward)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setRate(float rate) {
+        if (!(rate > 0) || Float.isInfinite(rate)) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        this.rate = rate;
+    }
+
+    /**
+     * @return the playback speed
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getRate() {
+        return rate;
+    }
+
+    /**
+     * Plays backward (or forward again) from the current position
+     * @param reversed - true to play backward
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setReversed(boolean reversed) {
+        this.reversed = reversed;
+        wakeManager();
+    }
+
+    /**
+     * @return true if playing backward
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Makes the timeline start over (from the end when reversed) instead of finishing
+     * @param looping - true to loop
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setLooping(boolean looping) {
+        this.looping = looping;
+    }
+
+    /**
+     * Pauses playback, the timeline keeps its position
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Resumes after {@link #pause()}
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void resume() {
+        paused = false;
+        wakeManager();
+    }
+
+    /**
+     * @return true if paused
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Stops playback where it is, playing the timeline again starts it over (or from where it was {@link #seek sought})
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void stop() {
+        stopRequested = true;
+        wakeManager();
+    }
+
+    /**
+     * @return true while the timeline is attached to a manager
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean isPlaying() {
+        return manager != null;
+    }
+
+    /**
+     * Sets code to run when the timeline reaches its end (or its start when reversed) without looping
+     * @param onFinished - The code, runs on the EDT, or null
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setOnFinished(Runnable onFinished) {
+        this.onFinished = onFinished;
+    }
+
+    private void wakeManager() {
+        AnimationManager owner = manager;
+        if (owner != null) owner.wake();
+    }
+
+    //Playback, everything below runs on the ticking thread
+
+    synchronized void attach(AnimationManager owner) {
+        if (manager != null) {
+            throw new IllegalStateException("timeline is already playing");
+        }
+        manager = owner;
+        stopRequested = false;
+        started = false;
+    }
+
+    synchronized void detach() {
+        manager = null;
+    }
+
+    /**
+     * @return true if the manager has to keep ticking for this timeline
+     */
+    boolean needsFrames() {
+        return !paused || !Float.isNaN(pendingSeek) || stopRequested;
+    }
+
+    /**
+     * Advances playback and writes the touched targets into the timeline's frame
+     * @param delta - Seconds since the last frame
+     * @return the frame to apply
+     */
+    FrameBuffer advance(float delta) {
+        if (states == null) {
+            states = new AnimationState[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                states[i] = AnimatedJComponent.stateOf(targets[i]);
+            }
+            frame.ensureCapacity(targets.length);
+        }
+        frame.count = targets.length;
+
+        if (!started) {
+            started = true;
+            playingBackward = reversed;
+            activeCount = 0;
+            startCursor = 0;
+            endCursor = 0;
+            float from = playingBackward ? duration : 0f;
+            if (Float.isNaN(pendingSeek)) {
+                //nothing before the first frame
+                position = from;
+                delta = 0f;
+            }
+        }
+
+        float seek = pendingSeek;
+        if (!Float.isNaN(seek)) {
+            pendingSeek = Float.NaN;
+            restore(seek);
+            position = seek;
+            rebuild(seek, reversed);
+        } else if (reversed != playingBackward) {
+            rebuild(position, reversed);
+        }
+        if (paused) return frame;
+
+        float to = position + (reversed ? -delta : delta) * rate;
+        to = Math.max(0f, Math.min(duration, to));
+        walk(to);
+        position = to;
+        return frame;
+    }
+
+    /**
+     * @return true if playback reached the end (or the start when reversed) and the timeline isn't looping
+     */
+    boolean reachedEnd() {
+        if (paused) return false;
+        boolean atEnd = reversed ? position <= 0f : position >= duration;
+        if (!atEnd) return false;
+        if (looping && duration > 0) {
+            float restart = reversed ? duration : 0f;
+            restore(restart);
+            position = restart;
+            rebuild(restart, reversed);
+            //the callbacks at the start fire again
+            if (!reversed) {
+                startCursor = 0;
+                activeCount = 0;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    Runnable getOnFinished() {
+        return onFinished;
+    }
+
+    private void walk(float to) {
+        if (!playingBackward) {
+            while (startCursor < segmentCount && start[startCursor] <= to) {
+                activate(startCursor++);
+            }
+        } else {
+            while (endCursor < segmentCount && end[byEndDescending[endCursor]] >= to) {
+                activate(byEndDescending[endCursor++]);
+            }
+        }
+
+        if (playingBackward) {
+            //segments that were rewound past their start put back their start values first, so running ones win
+            for (int i = activeCount - 1; i >= 0; i--) {
+                int segment = active[i];
+                if (type[segment] != CALL && start[segment] >= to) evaluate(segment, to);
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int segment = active[i];
+            if (type[segment] == CALL) {
+                if (!playingBackward) actions[segment].run();
+                continue;
+            }
+            boolean done = playingBackward ? start[segment] >= to : end[segment] <= to;
+            if (!playingBackward || !done) evaluate(segment, to);
+            if (!done) active[kept++] = segment;
+        }
+        activeCount = kept;
+    }
+
+    //Keeps the active list in segment order, so segments that started later win like they do in the manager
+    private void activate(int segment) {
+        if (activeCount == active.length) {
+            active = Arrays.copyOf(active, activeCount * 2);
+        }
+        int i = activeCount++;
+        while (i > 0 && active[i - 1] > segment) {
+            active[i] = active[i - 1];
+            i--;
+        }
+        active[i] = segment;
+    }
+
+    //Puts the active list and the cursors where they'd be after playing to position in the given direction
+    private void rebuild(float at, boolean backward) {
+        playingBackward = backward;
+        activeCount = 0;
+        for (int segment = 0; segment < segmentCount && start[segment] <= at; segment++) {
+            if (type[segment] == CALL) continue;
+            boolean running = backward ? start[segment] < at && end[segment] >= at : end[segment] > at;
+            if (running) activate(segment);
+        }
+        startCursor = upperBound(at);
+        endCursor = 0;
+        while (endCursor < segmentCount && end[byEndDescending[endCursor]] >= at) {
+            endCursor++;
+        }
+    }
+
+    //number of segments with start <= at
+    private int upperBound(float at) {
+        int low = 0;
+        int high = segmentCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (start[mid] <= at) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    //Puts every target where the timeline has it at a position, without firing callbacks
+    private void restore(float at) {
+        //segments that haven't started yet put back their start values, the earliest one last so it wins
+        for (int segment = segmentCount - 1; segment >= 0 && start[segment] > at; segment--) {
+            if (type[segment] != CALL && captured[segment]) {
+                write(segment, 0f);
+            }
+        }
+        for (int segment = 0; segment < segmentCount && start[segment] <= at; segment++) {
+            if (type[segment] != CALL) evaluate(segment, at);
+        }
+    }
+
+    private void evaluate(int segment, float at) {
+        if (!captured[segment]) capture(segment);
+        float length = end[segment] - start[segment];
+        float progress = length > 0 ? Math.max(0f, Math.min(1f, (at - start[segment]) / length)) : (at >= start[segment] ? 1f : 0f);
+        write(segment, easing[segment].ease(progress));
+    }
+
+    //Start values come from the frame when an earlier segment already changed the target this frame
+    private void capture(int segment) {
+        int target = targetOf[segment];
+        JComponent component = targets[target];
+        FrameBuffer pending = frame;
+        int m = pending.mask[target];
+        float x = (m & AnimationStore.HAS_POSITION) != 0 ? pending.x[target] : component.getX();
+        float y = (m & AnimationStore.HAS_POSITION) != 0 ? pending.y[target] : component.getY();
+        float width = (m & AnimationStore.HAS_SIZE) != 0 ? pending.width[target] : component.getWidth();
+        float height = (m & AnimationStore.HAS_SIZE) != 0 ? pending.height[target] : component.getHeight();
+        switch (type[segment]) {
+            case AnimationStore.MOVE:
+                startA[segment] = x;
+                startB[segment] = y;
+                break;
+            case AnimationStore.FADE:
+                startA[segment] = (m & AnimationStore.HAS_OPACITY) != 0 ? pending.opacity[target] : states[target].getOpacity();
+                break;
+            case AnimationStore.ROTATION:
+                startA[segment] = (m & AnimationStore.HAS_ROTATION) != 0 ? pending.rotation[target] : states[target].getRotation();
+                break;
+        }
+        //rotation keeps the component centered like scaling does
+        if (type[segment] == AnimationStore.SCALE || type[segment] == AnimationStore.ROTATION) {
+            centerX[segment] = x + width / 2.0f;
+            centerY[segment] = y + height / 2.0f;
+            baseWidth[segment] = width;
+            baseHeight[segment] = height;
+        }
+        captured[segment] = true;
+    }
+
+    private void write(int segment, float eased) {
+        int target = targetOf[segment];
+        FrameBuffer out = frame;
+        out.targets[target] = targets[target];
+        out.states[target] = states[target];
+        switch (type[segment]) {
+            case AnimationStore.MOVE:
+                out.mask[target] |= AnimationStore.HAS_POSITION;
+                out.x[target] = startA[segment] + (endA[segment] - startA[segment]) * eased;
+                out.y[target] = startB[segment] + (endB[segment] - startB[segment]) * eased;
+                break;
+
+            case AnimationStore.SCALE: {
+                int newWidth = (int) (baseWidth[segment] * (1.0f + (endA[segment] - 1.0f) * eased));
+                int newHeight = (int) (baseHeight[segment] * (1.0f + (endB[segment] - 1.0f) * eased));
+                out.mask[target] |= AnimationStore.HAS_POSITION | AnimationStore.HAS_SIZE;
+                out.x[target] = centerX[segment] - newWidth / 2.0f;
+                out.y[target] = centerY[segment] - newHeight / 2.0f;
+                out.width[target] = newWidth;
+                out.height[target] = newHeight;
+                break;
+            }
+
+            case AnimationStore.FADE:
+                out.mask[target] |= AnimationStore.HAS_OPACITY;
+                out.opacity[target] = startA[segment] + (endA[segment] - startA[segment]) * eased;
+                break;
+
+            case AnimationStore.ROTATION:
+                out.mask[target] |= AnimationStore.HAS_ROTATION | AnimationStore.HAS_POSITION;
+                out.rotation[target] = startA[segment] + (endA[segment] - startA[segment]) * eased;
+                out.x[target] = centerX[segment] - baseWidth[segment] / 2.0f;
+                out.y[target] = centerY[segment] - baseHeight[segment] / 2.0f;
+                break;
+        }
+    }
+}
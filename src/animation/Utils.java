@@ -1,31 +1,47 @@
 package animation;
 
+import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
 
 public final class Utils {
 
+    //side of the square tiles rotated at once, a source and a target tile of 4 byte pixels take 8KB, well inside L1
+    private static final int ROTATE_BLOCK = 32;
+
     /**
      * @param sourceImage the original image to be resized
      * @param newWidth    the desired width of the resized image
      * @param newHeight   the desired height of the resized image
-     * @return a new Image object resized to the specified dimensions
+     * @return a compatible image resized to the specified dimensions, shared through the {@link ImageScaler} cache
+     * so it should not be drawn into
      */
-    public static Image resizeTo(Image sourceImage, int newWidth, int newHeight) {
+    public static BufferedImage resizeTo(Image sourceImage, int newWidth, int newHeight) {
         if (newWidth <= 0 || newHeight <= 0) throw new IllegalArgumentException("Dimensions must be positive");
-        return sourceImage.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
+        return ImageScaler.getDefault().scale(sourceImage, newWidth, newHeight);
     }
 
     /**
      * @param sourceImage the original image to be resized
      * @param percentage  the percentage to scale the image by (e.g., 50 for 50%)
-     * @return a new Image object resized by the specified percentage
+     * @return a compatible image resized by the specified percentage, shared through the {@link ImageScaler} cache
+     * so it should not be drawn into
      */
-    public static Image resizeTo(Image sourceImage, double percentage) {
+    public static BufferedImage resizeTo(Image sourceImage, double percentage) {
         if (percentage <= 0) throw new IllegalArgumentException("Percentage must be positive.");
+        if (sourceImage.getWidth(null) < 0) {
+            //not loaded yet, the size is unknown until it is
+            sourceImage = new ImageIcon(sourceImage).getImage();
+        }
 
         float scale = (float) (percentage / 100.0);
         int newWidth = Math.round(sourceImage.getWidth(null) * scale);
@@ -50,10 +66,14 @@ public final class Utils {
 
     /**
      * Rotates an image by a given angle (multiples of 90 degrees).
+     * Images with int, short or byte rasters (every standard type) are rotated by moving the pixel data directly, in
+     * small square tiles so both the source and the target stay in cache, other images go through Graphics2D. The
+     * result has the same type as the source.
      *
      * @param sourceImage The original image to rotate.
      * @param degrees     The rotation angle in degrees (e.g., 90, 180, 270).
-     * @return A new, rotated BufferedImage.
+     * @return A new, rotated BufferedImage, or the source image itself if the angle isn't a multiple of 90
+     * (see {@link #rotateImage(BufferedImage, float)} for any angle).
      */
     public static BufferedImage rotateImageRightAngles(BufferedImage sourceImage, float degrees) {
         if (sourceImage == null) throw new IllegalArgumentException("Source image cannot be null.");
@@ -71,7 +91,19 @@ public final class Utils {
             newHeight = width;
         }
 
-        BufferedImage rotatedImage = new BufferedImage(newWidth, newHeight, sourceImage.getType());
+        BufferedImage rotatedImage = createLike(sourceImage, newWidth, newHeight);
+        WritableRaster targetRaster = rotatedImage.getRaster();
+
+        Raster sourceRaster = sourceImage.getRaster();
+        int transferType = sourceRaster.getTransferType();
+        if ((transferType == DataBuffer.TYPE_INT || transferType == DataBuffer.TYPE_USHORT || transferType == DataBuffer.TYPE_BYTE)
+                && targetRaster.getTransferType() == transferType
+                && targetRaster.getNumDataElements() == sourceRaster.getNumDataElements()) {
+            //tiles are copied through the raster API, so neither image's data buffer is grabbed and both stay accelerated
+            rotateRaster(sourceRaster, targetRaster, rotationAngle);
+            return rotatedImage;
+        }
+
         Graphics2D g2d = rotatedImage.createGraphics();
 
         AffineTransform transform = new AffineTransform();
@@ -85,6 +117,165 @@ public final class Utils {
         return rotatedImage;
     }
 
+    //same type as the source, a custom image (TYPE_CUSTOM) gets a raster of the same layout and the same color model
+    private static BufferedImage createLike(BufferedImage source, int width, int height) {
+        int type = source.getType();
+        ColorModel colorModel = source.getColorModel();
+        if ((type == BufferedImage.TYPE_BYTE_BINARY || type == BufferedImage.TYPE_BYTE_INDEXED)
+                && colorModel instanceof IndexColorModel) {
+            return new BufferedImage(width, height, type, (IndexColorModel) colorModel);
+        }
+        if (type != BufferedImage.TYPE_CUSTOM) return new BufferedImage(width, height, type);
+
+        WritableRaster raster = source.getRaster().createCompatibleWritableRaster(width, height);
+        return new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
+    }
+
+    //the angle is clockwise, 90 and 270 go through square tiles so the transpose stays in cache
+    private static void rotateRaster(Raster source, WritableRaster target, int angle) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int minX = source.getMinX();
+        int minY = source.getMinY();
+        int elements = source.getNumDataElements();
+
+        if (angle == 0 || angle == 180) {
+            Object row = null;
+            Object reversed = null;
+            for (int y = 0; y < height; y++) {
+                row = source.getDataElements(minX, minY + y, width, 1, row);
+                if (angle == 0) {
+                    target.setDataElements(0, y, width, 1, row);
+                    continue;
+                }
+                if (reversed == null) reversed = newElements(row, width * elements);
+                reverseRow(row, reversed, width, elements);
+                target.setDataElements(0, height - 1 - y, width, 1, reversed);
+            }
+            return;
+        }
+
+        Object tile = null;
+        Object transposed = null;
+        for (int tileY = 0; tileY < height; tileY += ROTATE_BLOCK) {
+            int tileHeight = Math.min(ROTATE_BLOCK, height - tileY);
+            for (int tileX = 0; tileX < width; tileX += ROTATE_BLOCK) {
+                int tileWidth = Math.min(ROTATE_BLOCK, width - tileX);
+                tile = source.getDataElements(minX + tileX, minY + tileY, tileWidth, tileHeight, tile);
+                if (transposed == null) transposed = newElements(tile, ROTATE_BLOCK * ROTATE_BLOCK * elements);
+                transposeTile(tile, transposed, tileWidth, tileHeight, elements, angle == 90);
+                if (angle == 90) {
+                    target.setDataElements(height - tileY - tileHeight, tileX, tileHeight, tileWidth, transposed);
+                } else {
+                    target.setDataElements(tileY, width - tileX - tileWidth, tileHeight, tileWidth, transposed);
+                }
+            }
+        }
+    }
+
+    private static void reverseRow(Object in, Object out, int width, int elements) {
+        int last = width - 1;
+        if (elements == 1 && in instanceof int[]) {
+            int[] from = (int[]) in;
+            int[] to = (int[]) out;
+            for (int x = 0; x <= last; x++) {
+                to[last - x] = from[x];
+            }
+        } else {
+            for (int x = 0; x <= last; x++) {
+                System.arraycopy(in, x * elements, out, (last - x) * elements, elements);
+            }
+        }
+    }
+
+    //in is tileHeight rows of tileWidth pixels, out becomes tileWidth rows of tileHeight pixels rotated a quarter turn
+    private static void transposeTile(Object in, Object out, int tileWidth, int tileHeight, int elements, boolean clockwise) {
+        //clockwise, source column i becomes target row i filled right to left, otherwise row (tileWidth - 1 - i) left to right
+        int rowStep = clockwise ? tileHeight : -tileHeight;
+        int firstRow = clockwise ? 0 : (tileWidth - 1) * tileHeight;
+        for (int y = 0; y < tileHeight; y++) {
+            int from = y * tileWidth;
+            int to = firstRow + (clockwise ? tileHeight - 1 - y : y);
+            if (elements == 1 && in instanceof int[]) {
+                int[] source = (int[]) in;
+                int[] target = (int[]) out;
+                for (int i = 0; i < tileWidth; i++, from++, to += rowStep) {
+                    target[to] = source[from];
+                }
+            } else if (elements == 1 && in instanceof short[]) {
+                short[] source = (short[]) in;
+                short[] target = (short[]) out;
+                for (int i = 0; i < tileWidth; i++, from++, to += rowStep) {
+                    target[to] = source[from];
+                }
+            } else if (elements == 1) {
+                byte[] source = (byte[]) in;
+                byte[] target = (byte[]) out;
+                for (int i = 0; i < tileWidth; i++, from++, to += rowStep) {
+                    target[to] = source[from];
+                }
+            } else if (in instanceof byte[]) {
+                //3 and 4 byte pixels, too short for arraycopy to pay off
+                byte[] source = (byte[]) in;
+                byte[] target = (byte[]) out;
+                for (int i = 0; i < tileWidth; i++, from++, to += rowStep) {
+                    int fromElement = from * elements;
+                    int toElement = to * elements;
+                    for (int e = 0; e < elements; e++) {
+                        target[toElement + e] = source[fromElement + e];
+                    }
+                }
+            } else {
+                for (int i = 0; i < tileWidth; i++, from++, to += rowStep) {
+                    System.arraycopy(in, from * elements, out, to * elements, elements);
+                }
+            }
+        }
+    }
+
+    private static Object newElements(Object like, int length) {
+        if (like instanceof int[]) return new int[length];
+        return like instanceof short[] ? new short[length] : new byte[length];
+    }
+
+    /**
+     * Rotates an image by any angle around its center. The result is big enough to hold the whole rotated image,
+     * multiples of 90 degrees go through {@link #rotateImageRightAngles(BufferedImage, float)}.
+     *
+     * @param sourceImage The original image to rotate.
+     * @param degrees     The rotation angle in degrees, clockwise.
+     * @return A new, rotated BufferedImage.
+     * @see RotationFrames
+     */
+    public static BufferedImage rotateImage(BufferedImage sourceImage, float degrees) {
+        if (sourceImage == null) throw new IllegalArgumentException("Source image cannot be null.");
+        if (degrees % 90 == 0) return rotateImageRightAngles(sourceImage, degrees);
+
+        double radians = Math.toRadians(degrees);
+        int width = sourceImage.getWidth();
+        int height = sourceImage.getHeight();
+        double cos = Math.abs(Math.cos(radians));
+        double sin = Math.abs(Math.sin(radians));
+        int newWidth = (int) Math.ceil(width * cos + height * sin);
+        int newHeight = (int) Math.ceil(width * sin + height * cos);
+
+        BufferedImage rotatedImage = ImageScaler.createCompatible(newWidth, newHeight);
+        Graphics2D g2d = rotatedImage.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        AffineTransform transform = new AffineTransform();
+        transform.translate(newWidth / 2.0, newHeight / 2.0);
+        transform.rotate(radians);
+        transform.translate(-width / 2.0, -height / 2.0);
+
+        g2d.drawImage(sourceImage, transform, null);
+        g2d.dispose();
+
+        return rotatedImage;
+    }
+
     /**
      * Wraps text by inserting newline characters after a specified number of words.
      *
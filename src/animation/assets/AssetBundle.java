@@ -0,0 +1,181 @@
+package animation.assets;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only bundle of pre-decoded images written by {@link AssetBundlePacker}.
+ * <p>
+ * The bundle file is memory-mapped when it's opened and only its index is read. An image is built the first time it
+ * is asked for, by copying its premultiplied ARGB pixels straight from the mapping into a
+ * {@code TYPE_INT_ARGB_PRE} image, so there is no PNG decode and no MediaTracker wait. Built images are kept, every
+ * later call returns the same instance.
+ * <p>
+ * Layout (little-endian): magic {@code "YSAB"}, version, entry count, then per entry the name length, the UTF-8 name,
+ * width, height and the offset of its pixel data, then the pixel data of every entry, each aligned to 64 bytes.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AssetBundle implements Closeable {
+
+    static final int MAGIC = 0x42415359; //"YSAB" read little-endian
+    static final int VERSION = 1;
+    static final int ALIGNMENT = 64;
+
+    //rows copied per setDataElements call, keeps the copy buffer small
+    private static final int ROWS_PER_COPY = 64;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    private final Map<String, Entry> entries;
+    private final ConcurrentHashMap<String, BufferedImage> loaded = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private AssetBundle(FileChannel channel, MappedByteBuffer mapping, Map<String, Entry> entries) {
+        this.channel = channel;
+        this.mapping = mapping;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens and maps a bundle, only the index is read
+     * @param file - The bundle file
+     * @return the bundle
+     * @throws IOException if the file can't be read or isn't a bundle
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static AssetBundle open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file can not be null");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            return new AssetBundle(channel, mapping, readIndex(mapping, file));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Map<String, Entry> readIndex(ByteBuffer buffer, Path file) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException(file + " is not an asset bundle");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException(file + " has unsupported bundle version " + version);
+            int count = buffer.getInt();
+            Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                int width = buffer.getInt();
+                int height = buffer.getInt();
+                long offset = buffer.getLong();
+                if (width <= 0 || height <= 0 || offset < 0 || offset + 4L * width * height > buffer.capacity()) {
+                    throw new IOException(file + " is corrupt");
+                }
+                entries.put(new String(name, StandardCharsets.UTF_8), new Entry(width, height, (int) offset));
+            }
+            return Collections.unmodifiableMap(entries);
+        } catch (RuntimeException e) {
+            throw new IOException(file + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Get an image, built from the mapped pixels on first access
+     * @param name - The name it was packed under (for example {@code "focus.png"})
+     * @return the image, shared so it should not be drawn into
+     * @throws IllegalArgumentException if there is no such image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public BufferedImage getImage(String name) {
+        if (closed) {
+            throw new IllegalStateException("bundle is closed");
+        }
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("no image named " + name);
+        }
+        return loaded.computeIfAbsent(name, n -> build(entry));
+    }
+
+    private BufferedImage build(Entry entry) {
+        BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        WritableRaster raster = image.getRaster();
+        //the views are per call, the mapping itself is shared between threads
+        IntBuffer pixels = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(entry.offset).slice()
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int rows = Math.min(ROWS_PER_COPY, entry.height);
+        int[] chunk = new int[rows * entry.width];
+        //through setDataElements instead of wrapping an array, so the image stays accelerated
+        for (int y = 0; y < entry.height; y += rows) {
+            int count = Math.min(rows, entry.height - y);
+            pixels.get(chunk, 0, count * entry.width);
+            raster.setDataElements(0, y, entry.width, count, chunk);
+        }
+        return image;
+    }
+
+    /**
+     * @param name - The name
+     * @return true if the bundle has an image with that name
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * @return the names of every image, in the order they were packed
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public Set<String> getNames() {
+        return entries.keySet();
+    }
+
+    /**
+     * Closes the file, images that were already built stay usable
+     * @throws IOException if closing the file fails
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        //the mapping itself is released once it's garbage collected
+        channel.close();
+    }
+
+    private static final class Entry {
+        final int width;
+        final int height;
+        final int offset;
+
+        Entry(int width, int height, int offset) {
+            this.width = width;
+            this.height = height;
+            this.offset = offset;
+        }
+    }
+}
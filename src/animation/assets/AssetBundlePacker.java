@@ -0,0 +1,150 @@
+package animation.assets;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that decodes images once and writes them into an {@link AssetBundle}.
+ * <p>
+ * Run it as {@code java animation.assets.AssetBundlePacker <output> <file or directory>...}. Directories are
+ * searched recursively for anything {@link ImageIO} can read, and every image is named by its path relative to the
+ * directory it was found in, with {@code /} separators (so {@code src/assets/focus.png} packed from
+ * {@code src/assets} is {@code "focus.png"}).
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AssetBundlePacker {
+
+    private AssetBundlePacker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: AssetBundlePacker <output> <file or directory>...");
+            System.exit(1);
+        }
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            collect(Paths.get(args[i]), images);
+        }
+        Path output = Paths.get(args[0]);
+        pack(output, images);
+        System.out.println("packed " + images.size() + " images into " + output + " (" + Files.size(output) + " bytes)");
+    }
+
+    private static void collect(Path input, Map<String, BufferedImage> images) throws IOException {
+        if (!Files.isDirectory(input)) {
+            BufferedImage image = ImageIO.read(input.toFile());
+            if (image == null) throw new IOException("can not decode " + input);
+            images.put(input.getFileName().toString(), image);
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(input)) {
+            walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+        }
+        for (Path file : files) {
+            BufferedImage image = ImageIO.read(file.toFile());
+            //not an image, skip it
+            if (image == null) continue;
+            images.put(input.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"), image);
+        }
+    }
+
+    /**
+     * Writes images into a bundle
+     * @param output - The bundle file, replaced if it exists
+     * @param images - The images by name, written in iteration order
+     * @throws IOException if writing fails
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void pack(Path output, Map<String, ? extends BufferedImage> images) throws IOException {
+        if (output == null) {
+            throw new IllegalArgumentException("output can not be null");
+        }
+        if (images == null) {
+            throw new IllegalArgumentException("images can not be null");
+        }
+
+        List<byte[]> names = new ArrayList<>(images.size());
+        long indexSize = 12;
+        for (String name : images.keySet()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            names.add(bytes);
+            indexSize += 4 + bytes.length + 4 + 4 + 8;
+        }
+
+        ByteBuffer index = ByteBuffer.allocate((int) indexSize).order(ByteOrder.LITTLE_ENDIAN);
+        index.putInt(AssetBundle.MAGIC).putInt(AssetBundle.VERSION).putInt(images.size());
+        long offset = align(indexSize);
+        int n = 0;
+        for (BufferedImage image : images.values()) {
+            byte[] name = names.get(n++);
+            index.putInt(name.length).put(name).putInt(image.getWidth()).putInt(image.getHeight()).putLong(offset);
+            offset = align(offset + 4L * image.getWidth() * image.getHeight());
+        }
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("bundle would be larger than 2GB, split it up");
+        }
+        index.flip();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, index);
+            for (BufferedImage image : images.values()) {
+                channel.position(align(channel.position()));
+                writePixels(channel, toPremultiplied(image));
+            }
+        }
+    }
+
+    private static void writePixels(FileChannel channel, BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        ByteBuffer row = ByteBuffer.allocate(width * 4).order(ByteOrder.LITTLE_ENDIAN);
+        int[] pixels = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRaster().getDataElements(0, y, width, 1, pixels);
+            row.clear();
+            row.asIntBuffer().put(pixels);
+            writeFully(channel, row);
+        }
+    }
+
+    private static BufferedImage toPremultiplied(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB_PRE) return image;
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = converted.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long align(long position) {
+        return (position + AssetBundle.ALIGNMENT - 1) / AssetBundle.ALIGNMENT * AssetBundle.ALIGNMENT;
+    }
+}
@@ -0,0 +1,314 @@
+package animation.assets;
+
+import animation.AnimationManager;
+import animation.ImageScaler;
+import animation.customComponents.AnimatedLabel;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Decodes (and optionally scales) images on a small pool of background threads.
+ * <p>
+ * Every request returns a {@link CompletableFuture} right away, so a window can be shown while its images are still
+ * decoding. Requests carry a priority, higher runs first (the assets of the first scene should get
+ * {@link #PRIORITY_HIGH}), and requests of the same priority run in the order they were made. Asking for the same
+ * image and size again while it is still loading returns the same future, finished images aren't kept here (scaled
+ * ones stay in the {@link ImageScaler} cache). Images can also come from an {@link AssetBundle}, which skips the
+ * decode entirely.
+ * <p>
+ * {@link #showWhenLoaded(AnimatedLabel, CompletableFuture, Icon, AnimationManager, float)} shows a placeholder in a
+ * label and swaps (and optionally fades) the real image in on the EDT once it's ready.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AssetLoader {
+
+    public static final int PRIORITY_HIGH = 10;
+    public static final int PRIORITY_NORMAL = 0;
+    public static final int PRIORITY_LOW = -10;
+
+    private static final String PENDING_KEY = "animation.pendingAsset";
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final ThreadPoolExecutor pool;
+    private final AssetBundle bundle;
+    private final ConcurrentHashMap<Object, CompletableFuture<BufferedImage>> requests = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates a loader with up to 4 threads (fewer on machines with fewer cores)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AssetLoader() {
+        this(Math.min(4, Runtime.getRuntime().availableProcessors()), null);
+    }
+
+    /**
+     * Creates a loader
+     * @param threads - How many images are decoded at once
+     * @param bundle - A bundle to serve names from, or null
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AssetLoader(int threads, AssetBundle bundle) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.bundle = bundle;
+        String prefix = "AssetLoader-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            //decoding shouldn't compete with the EDT
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Decodes an image
+     * @param source - Where to read it from, for example {@code getClass().getResource("/assets/logo.png")}
+     * @param priority - Higher is decoded first
+     * @return the decoded image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public CompletableFuture<BufferedImage> load(URL source, int priority) {
+        if (source == null) {
+            throw new IllegalArgumentException("source can not be null");
+        }
+        return request(source.toExternalForm(), priority, () -> decode(source));
+    }
+
+    /**
+     * Decodes an image and scales it with the shared {@link ImageScaler}
+     * @param source - Where to read it from
+     * @param width - The new width
+     * @param height - The new height
+     * @param priority - Higher is decoded first
+     * @return the scaled image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public CompletableFuture<BufferedImage> load(URL source, int width, int height, int priority) {
+        if (source == null) {
+            throw new IllegalArgumentException("source can not be null");
+        }
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Dimensions must be positive");
+        return request(new Sized(source.toExternalForm(), width, height), priority,
+                () -> ImageScaler.getDefault().scale(decode(source), width, height));
+    }
+
+    /**
+     * Gets an image out of the loader's bundle, in the background
+     * @param name - The name it was packed under
+     * @param priority - Higher is loaded first
+     * @return the image
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public CompletableFuture<BufferedImage> load(String name, int priority) {
+        if (bundle == null) {
+            throw new IllegalStateException("this loader has no bundle");
+        }
+        if (!bundle.contains(name)) {
+            throw new IllegalArgumentException("no image named " + name);
+        }
+        return request(new Named(name), priority, () -> bundle.getImage(name));
+    }
+
+    private CompletableFuture<BufferedImage> request(Object key, int priority, Supplier<BufferedImage> loader) {
+        CompletableFuture<BufferedImage> existing = requests.get(key);
+        if (existing != null) return existing;
+
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        existing = requests.putIfAbsent(key, future);
+        if (existing != null) return existing;
+
+        pool.execute(new Task(priority, sequence.getAndIncrement(), () -> {
+            try {
+                BufferedImage image = loader.get();
+                requests.remove(key, future);
+                future.complete(image);
+            } catch (Throwable t) {
+                requests.remove(key, future);
+                future.completeExceptionally(t);
+            }
+        }));
+        return future;
+    }
+
+    private static BufferedImage decode(URL source) {
+        try {
+            BufferedImage image = ImageIO.read(source);
+            if (image == null) throw new IOException("can not decode " + source);
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Shows a placeholder in a label until an image is loaded, then swaps the image in
+     * @param label - The label
+     * @param image - The image being loaded
+     * @param placeholder - What to show until then, or null for nothing
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void showWhenLoaded(AnimatedLabel label, CompletableFuture<BufferedImage> image, Icon placeholder) {
+        showWhenLoaded(label, image, placeholder, null, 0f);
+    }
+
+    /**
+     * Shows a placeholder in a label until an image is loaded, then swaps the image in and fades it from transparent
+     * to the label's current opacity. If the label's icon is replaced in the meantime, the loaded image is dropped.
+     * If loading fails the placeholder stays and the exception goes to the EDT's uncaught exception handler
+     * @param label - The label
+     * @param image - The image being loaded
+     * @param placeholder - What to show until then, or null for nothing
+     * @param fadeWith - The manager that runs the fade, or null to not fade
+     * @param fadeDuration - The duration of the fade (in seconds)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void showWhenLoaded(AnimatedLabel label, CompletableFuture<BufferedImage> image, Icon placeholder,
+                                      AnimationManager fadeWith, float fadeDuration) {
+        if (label == null) {
+            throw new IllegalArgumentException("label can not be null");
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("image can not be null");
+        }
+        Runnable install = () -> {
+            label.setIcon(placeholder);
+            //set after the icon, so this is the last icon change it sees
+            label.putClientProperty(PENDING_KEY, image);
+            image.whenComplete((loaded, error) -> SwingUtilities.invokeLater(() -> {
+                boolean pending = label.getClientProperty(PENDING_KEY) == image;
+                if (pending) label.putClientProperty(PENDING_KEY, null);
+                if (error != null) {
+                    //the placeholder stays, cancelling (shutdown()) isn't an error
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (!(cause instanceof CancellationException)) {
+                        Thread edt = Thread.currentThread();
+                        edt.getUncaughtExceptionHandler().uncaughtException(edt, cause);
+                    }
+                    return;
+                }
+                //the label was given something else to show (or another image) in the meantime
+                if (!pending || label.getIcon() != placeholder) return;
+                label.setIcon(new ImageIcon(loaded));
+                if (fadeWith != null && fadeDuration > 0) {
+                    float opacity = label.getOpacity();
+                    label.setOpacity(0f);
+                    fadeWith.animateFade(label, opacity, fadeDuration, AnimationManager.Easing.EASE_OUT_SINE);
+                }
+            }));
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            install.run();
+        } else {
+            SwingUtilities.invokeLater(install);
+        }
+    }
+
+    /**
+     * Stops the loader, requests that haven't started are cancelled
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+        for (CompletableFuture<BufferedImage> future : requests.values()) {
+            future.cancel(false);
+        }
+    }
+
+    private static final class Task implements Runnable, Comparable<Task> {
+        final int priority;
+        final long sequence;
+        final Runnable work;
+
+        Task(int priority, long sequence, Runnable work) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            work.run();
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (priority != other.priority) return Integer.compare(other.priority, priority);
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class Named {
+        final String name;
+
+        Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Named && ((Named) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    private static final class Sized {
+        final String source;
+        final int width;
+        final int height;
+
+        Sized(String source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Sized)) return false;
+            Sized other = (Sized) o;
+            return source.equals(other.source) && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, width, height);
+        }
+    }
+}
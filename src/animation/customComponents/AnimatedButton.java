@@ -5,6 +5,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.AlphaComposite;
 import java.awt.RenderingHints;
+import java.util.function.Consumer;
 
 /**
  * Special type of button that has opacity and rotation
@@ -13,6 +14,10 @@ import java.awt.RenderingHints;
  */
 public class AnimatedButton extends JButton implements AnimatedJComponent {
 
+    private final AnimationState animationState = new AnimationState(this);
+
+    private final Consumer<Graphics> contentPainter = super::paintComponent;
+
     public AnimatedButton(String text) {
         super(text);
     }
@@ -24,7 +29,14 @@ public class AnimatedButton extends JButton implements AnimatedJComponent {
     @Override
     protected void paintComponent(Graphics g) {
         Graphics2D g2d = AnimatedJComponent.getAnimatedGraphics(this, g);
-        super.paintComponent(g2d);
+        if (!AnimatedJComponent.paintCachedLayer(this, g2d, contentPainter)) {
+            super.paintComponent(g2d);
+        }
         g2d.dispose();
     }
+
+    @Override
+    public AnimationState getAnimationState() {
+        return animationState;
+    }
 }
@@ -5,6 +5,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.AlphaComposite;
 import java.awt.RenderingHints;
+import java.util.function.Consumer;
 
 public interface AnimatedJComponent {
 
@@ -13,35 +14,97 @@ public interface AnimatedJComponent {
         Graphics2D g2d = (Graphics2D) g.create();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        Object opacityProp = component.getClientProperty("animation.opacity");
-        float opacity = (opacityProp instanceof Float) ? (Float) opacityProp : 1.0f;
-
-        opacity = Math.max(0.0f, Math.min(1.0f, opacity));
+        AnimationState state = stateOf(component);
+        float opacity = Math.max(0.0f, Math.min(1.0f, state.getOpacity()));
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
 
-        Object rotation = component.getClientProperty("animation.rotation");
-        if (rotation instanceof Float) {
-            g2d.rotate((Float) rotation, component.getWidth() / 2.0, component.getHeight() / 2.0);
+        float rotation = state.getRotation();
+        if (rotation != 0f) {
+            g2d.rotate(rotation, component.getWidth() / 2.0, component.getHeight() / 2.0);
         }
 
         return g2d;
     }
 
+    //Paints the content through the layer cache when one is enabled and the component is faded or rotated
+    static boolean paintCachedLayer(JComponent component, Graphics2D animated, Consumer<Graphics> contentPainter) {
+        AnimationState state = stateOf(component);
+        LayerCache cache = state.getLayerCache();
+        if (cache == null) return false;
+        if (state.getOpacity() >= 1f && state.getRotation() == 0f) return false;
+
+        cache.paint(animated, contentPainter);
+        return true;
+    }
+
+    /**
+     * Get the animation state of any component, animated or not
+     * @param component - The component
+     * @return AnimationState
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    static AnimationState stateOf(JComponent component) {
+        return component instanceof AnimatedJComponent
+                ? ((AnimatedJComponent) component).getAnimationState()
+                : AnimationState.of(component);
+    }
+
+    /**
+     * Get the opacity and rotation holder the animation manager writes to.
+     * The built in components keep it in a field, the default stores it as a client property
+     * @return AnimationState
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    default AnimationState getAnimationState() {
+        return AnimationState.of((JComponent) this);
+    }
+
+    /**
+     * Renders the component's content once into an image and reuses it while the component is only fading or
+     * rotating, instead of running its paint code every frame
+     * @param enabled - true to cache
+     * @since 1.1.0
+     * @author Yukurotei
+     * @see LayerCache
+     */
+    default void setLayerCacheEnabled(boolean enabled) {
+        AnimationState state = getAnimationState();
+        LayerCache existing = state.getLayerCache();
+        if (enabled && existing == null) {
+            state.setLayerCache(LayerCache.install((JComponent) this));
+        } else if (!enabled && existing != null) {
+            existing.uninstall();
+            state.setLayerCache(null);
+        }
+    }
+
+    /**
+     * Get the layer cache
+     * @return the LayerCache, or null if caching isn't enabled
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    default LayerCache getLayerCache() {
+        return getAnimationState().getLayerCache();
+    }
+
     default float getOpacity() {
-        Object opacityProp = ((JComponent)this).getClientProperty("animation.opacity");
-        return (opacityProp instanceof Float) ? (Float) opacityProp : 1.0f;
+        return getAnimationState().getOpacity();
     }
 
     default void setOpacity(float opacity) {
-        ((JComponent)this).putClientProperty("animation.opacity", 0f);
+        getAnimationState().setOpacity(opacity);
+        ((JComponent) this).repaint();
     }
 
     default float getRotation() {
-        Object rotationProp = ((JComponent)this).getClientProperty("animation.rotation");
-        return (rotationProp instanceof Float) ? (Float) rotationProp : 0f;
+        return getAnimationState().getRotation();
     }
 
     default void setRotation(float rotation) {
-        ((JComponent)this).putClientProperty("animation.rotation", rotation);
+        getAnimationState().setRotation(rotation);
+        ((JComponent) this).repaint();
     }
 }
@@ -6,6 +6,7 @@ import javax.swing.JLabel;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.util.function.Consumer;
 
 /**
  * Special type of label that has opacity and rotation
@@ -14,7 +15,12 @@ import java.awt.Image;
  */
 public class AnimatedLabel extends JLabel implements AnimatedJComponent {
 
+    private final AnimationState animationState = new AnimationState(this);
+
     private Image originalImage;
+    private MipPyramid mipPyramid;
+    private final Consumer<Graphics> contentPainter = g -> paintContent((Graphics2D) g);
+    private boolean layoutRotated;
 
     public AnimatedLabel(String text) {
         super(text);
@@ -33,9 +39,44 @@ public class AnimatedLabel extends JLabel implements AnimatedJComponent {
         } else {
             this.originalImage = null;
         }
+        releaseMipPyramid();
         super.setIcon(icon);
     }
 
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (!visible) {
+            releaseMipPyramid();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        releaseMipPyramid();
+    }
+
+    private void releaseMipPyramid() {
+        if (mipPyramid != null) {
+            mipPyramid.release();
+            mipPyramid = null;
+        }
+    }
+
+    //Draws the image from the smallest pyramid level that still covers the area, instead of the full source
+    private void drawImage(Graphics2D g2d, int x, int y, int width, int height) {
+        if (mipPyramid == null) {
+            if (originalImage.getWidth(null) <= 0 || originalImage.getHeight(null) <= 0) {
+                //still loading
+                g2d.drawImage(originalImage, x, y, width, height, this);
+                return;
+            }
+            mipPyramid = new MipPyramid(originalImage);
+        }
+        mipPyramid.draw(g2d, x, y, width, height, this);
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         Graphics2D g2d = AnimatedJComponent.getAnimatedGraphics(this, g);
@@ -43,6 +84,24 @@ public class AnimatedLabel extends JLabel implements AnimatedJComponent {
         //remove clipping (HOLY THIS EXISTS?!?!?!)
         g2d.setClip(null);
 
+        //the image is laid out differently while rotated, so a cached layer of the other layout is stale
+        boolean rotated = getRotation() != 0;
+        if (rotated != layoutRotated) {
+            layoutRotated = rotated;
+            LayerCache cache = getLayerCache();
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+
+        if (!AnimatedJComponent.paintCachedLayer(this, g2d, contentPainter)) {
+            paintContent(g2d);
+        }
+
+        g2d.dispose();
+    }
+
+    private void paintContent(Graphics2D g2d) {
         if (originalImage != null) {
             //Only do rotation calculation if rotation isn't 0, since if we're not rotating it's not needed
             if (getRotation() != 0) {
@@ -56,7 +115,6 @@ public class AnimatedLabel extends JLabel implements AnimatedJComponent {
                 //prevent improper div when below or = 0
                 if (imgWidth <= 0 || imgHeight <= 0) {
                     super.paintComponent(g2d);
-                    g2d.dispose();
                     return;
                 }
 
@@ -77,14 +135,17 @@ public class AnimatedLabel extends JLabel implements AnimatedJComponent {
                 int x = (compWidth - newImgWidth) / 2;
                 int y = (compHeight - newImgHeight) / 2;
 
-                g2d.drawImage(originalImage, x, y, newImgWidth, newImgHeight, this);
+                drawImage(g2d, x, y, newImgWidth, newImgHeight);
             } else {
-                g2d.drawImage(originalImage, 0, 0, getWidth(), getHeight(), this);
+                drawImage(g2d, 0, 0, getWidth(), getHeight());
             }
         } else {
             super.paintComponent(g2d);
         }
+    }
 
-        g2d.dispose();
+    @Override
+    public AnimationState getAnimationState() {
+        return animationState;
     }
 }
@@ -6,6 +6,7 @@ import java.awt.Graphics2D;
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.RenderingHints;
+import java.util.function.Consumer;
 
 /**
  * Special type of panel that has opacity and rotation
@@ -14,7 +15,13 @@ import java.awt.RenderingHints;
  */
 public class AnimatedPanel extends JPanel implements AnimatedJComponent {
 
+    private final AnimationState animationState = new AnimationState(this);
+
     private Color paintColor;
+    private final Consumer<Graphics> contentPainter = g -> {
+        g.setColor(this.paintColor);
+        g.fillRect(0, 0, getWidth(), getHeight());
+    };
 
     public AnimatedPanel(Color paintColor) {
         this.paintColor = paintColor;
@@ -25,8 +32,9 @@ public class AnimatedPanel extends JPanel implements AnimatedJComponent {
         Graphics2D g2d = AnimatedJComponent.getAnimatedGraphics(this, g);
 
         g2d.setClip(null);
-        g2d.setColor(this.paintColor);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+        if (!AnimatedJComponent.paintCachedLayer(this, g2d, contentPainter)) {
+            contentPainter.accept(g2d);
+        }
 
         g2d.dispose();
     }
@@ -42,7 +50,15 @@ public class AnimatedPanel extends JPanel implements AnimatedJComponent {
 
     public void setPaintColor(Color paintColor) {
         this.paintColor = paintColor;
+        LayerCache cache = getLayerCache();
+        if (cache != null) {
+            cache.invalidate();
+        }
         repaint();
     }
-}
 
+    @Override
+    public AnimationState getAnimationState() {
+        return animationState;
+    }
+}
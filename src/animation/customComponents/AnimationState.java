@@ -0,0 +1,155 @@
+package animation.customComponents;
+
+import javax.swing.JComponent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * The opacity and rotation of an {@link AnimatedJComponent}, kept in plain float fields.
+ * <p>
+ * The animation manager writes these directly and the paint path reads them without a client property lookup or
+ * boxing. For code that still uses the {@code "animation.opacity"} / {@code "animation.rotation"} client properties:
+ * writes to those properties are picked up automatically. Reads are not, {@code getClientProperty} is final so it
+ * can't be answered from the fields, so old readers should move to {@code AnimationState.of(component).getOpacity()}
+ * and {@link #getRotation()}. Until they have, {@link #setLegacyClientProperties(boolean)} mirrors every change back
+ * into the properties. It's off by default since it boxes each change.
+ * <p>
+ * Like the rest of Swing, only use it from the EDT.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class AnimationState {
+
+    static final String OPACITY_KEY = "animation.opacity";
+    static final String ROTATION_KEY = "animation.rotation";
+    private static final String STATE_KEY = "animation.state";
+
+    private static volatile boolean legacyClientProperties = false;
+
+    private final JComponent component;
+    private float opacity = 1f;
+    private float rotation = 0f;
+    private LayerCache layerCache;
+    private boolean mirroring;
+
+    /**
+     * Creates the state of a component
+     * @param component - The component
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public AnimationState(JComponent component) {
+        this.component = component;
+        //old writers still go through the client properties
+        PropertyChangeListener listener = e -> {
+            if (mirroring || !(e.getNewValue() instanceof Float)) return;
+            if (OPACITY_KEY.equals(e.getPropertyName())) {
+                opacity = (Float) e.getNewValue();
+            } else if (ROTATION_KEY.equals(e.getPropertyName())) {
+                rotation = (Float) e.getNewValue();
+            }
+        };
+        component.addPropertyChangeListener(OPACITY_KEY, listener);
+        component.addPropertyChangeListener(ROTATION_KEY, listener);
+
+        Object opacityProp = component.getClientProperty(OPACITY_KEY);
+        if (opacityProp instanceof Float) opacity = (Float) opacityProp;
+        Object rotationProp = component.getClientProperty(ROTATION_KEY);
+        if (rotationProp instanceof Float) rotation = (Float) rotationProp;
+    }
+
+    /**
+     * Gets the state of any component, creating it on first use. For {@link AnimatedJComponent}s prefer
+     * {@link AnimatedJComponent#getAnimationState()}, the built in ones keep it in a field
+     * @param component - The component
+     * @return AnimationState
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static AnimationState of(JComponent component) {
+        Object state = component.getClientProperty(STATE_KEY);
+        if (state instanceof AnimationState) return (AnimationState) state;
+        AnimationState created = new AnimationState(component);
+        component.putClientProperty(STATE_KEY, created);
+        return created;
+    }
+
+    /**
+     * Mirrors every opacity and rotation change into the old client properties, for code that still reads them
+     * (off by default). Only turn it on while something still reads them, every mirrored change is boxed
+     * @param enabled - true to mirror
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static void setLegacyClientProperties(boolean enabled) {
+        legacyClientProperties = enabled;
+    }
+
+    /**
+     * Are changes mirrored into the old client properties
+     * @return boolean
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public static boolean isLegacyClientProperties() {
+        return legacyClientProperties;
+    }
+
+    /**
+     * Get the opacity
+     * @return the opacity (0-1)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getOpacity() {
+        return opacity;
+    }
+
+    /**
+     * Set the opacity, does not repaint
+     * @param opacity - The opacity (0-1)
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setOpacity(float opacity) {
+        this.opacity = opacity;
+        if (legacyClientProperties) mirror(OPACITY_KEY, opacity);
+    }
+
+    /**
+     * Get the rotation
+     * @return the rotation in radians
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public float getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Set the rotation, does not repaint
+     * @param rotation - The rotation in radians
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void setRotation(float rotation) {
+        this.rotation = rotation;
+        if (legacyClientProperties) mirror(ROTATION_KEY, rotation);
+    }
+
+    LayerCache getLayerCache() {
+        return layerCache;
+    }
+
+    void setLayerCache(LayerCache layerCache) {
+        this.layerCache = layerCache;
+    }
+
+    private void mirror(String key, float value) {
+        mirroring = true;
+        try {
+            component.putClientProperty(key, value);
+        } finally {
+            mirroring = false;
+        }
+    }
+}
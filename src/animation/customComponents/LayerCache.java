@@ -0,0 +1,151 @@
+package animation.customComponents;
+
+import javax.swing.AbstractButton;
+import javax.swing.JComponent;
+import javax.swing.event.ChangeListener;
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeListener;
+import java.util.function.Consumer;
+
+/**
+ * An opt-in bitmap cache of an animated component's content.
+ * <p>
+ * While a component is only fading or rotating its content doesn't change, so instead of running its paint code
+ * (for example the button UI delegate) every frame, the content is rendered once into a compatible image and that
+ * image is composited with the current opacity and rotation. The cache is thrown away whenever the component reports
+ * a real change: any bound property (text, icon, font, colors, UI/look and feel, ...), a resize or, for buttons, a
+ * change of the button model (rollover, pressed). Call {@link #invalidate()} for changes Swing doesn't report.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+public final class LayerCache {
+
+    private final JComponent component;
+    private BufferedImage image;
+    private boolean valid;
+
+    private final PropertyChangeListener propertyListener = e -> {
+        String name = e.getPropertyName();
+        //our own animation state doesn't change what the content looks like
+        if (name == null || !name.startsWith("animation.")) {
+            invalidate();
+        }
+        if ("model".equals(name)) {
+            rehookModel();
+        }
+    };
+    private final ComponentAdapter resizeListener = new ComponentAdapter() {
+        @Override
+        public void componentResized(ComponentEvent e) {
+            invalidate();
+        }
+    };
+    private final ChangeListener modelListener = e -> invalidate();
+    private AbstractButton hookedButton;
+
+    private LayerCache(JComponent component) {
+        this.component = component;
+    }
+
+    static LayerCache install(JComponent component) {
+        LayerCache cache = new LayerCache(component);
+        component.addPropertyChangeListener(cache.propertyListener);
+        component.addComponentListener(cache.resizeListener);
+        cache.rehookModel();
+        return cache;
+    }
+
+    void uninstall() {
+        component.removePropertyChangeListener(propertyListener);
+        component.removeComponentListener(resizeListener);
+        if (hookedButton != null && hookedButton.getModel() != null) {
+            hookedButton.getModel().removeChangeListener(modelListener);
+        }
+        hookedButton = null;
+        release();
+    }
+
+    private void rehookModel() {
+        if (!(component instanceof AbstractButton)) return;
+        AbstractButton button = (AbstractButton) component;
+        //the old model is gone by the time "model" fires, so listen on each model we see and remove it from the old one
+        if (hookedButton != null && hookedButton.getModel() != null) {
+            hookedButton.getModel().removeChangeListener(modelListener);
+        }
+        if (button.getModel() != null) {
+            button.getModel().addChangeListener(modelListener);
+        }
+        hookedButton = button;
+    }
+
+    /**
+     * Marks the cached content as stale, it is re-rendered the next time it's needed
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Drops the cached image entirely
+     * @since 1.1.0
+     * @author Yukurotei
+     */
+    public void release() {
+        if (image != null) {
+            image.flush();
+            image = null;
+        }
+        valid = false;
+    }
+
+    /**
+     * Paints the component's content through the cache
+     * @param animated - The graphics with the component's opacity and rotation already applied
+     * @param painter - Paints the untransformed content (the component's normal paint code)
+     */
+    void paint(Graphics2D animated, Consumer<Graphics> painter) {
+        int width = component.getWidth();
+        int height = component.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        GraphicsConfiguration config = animated.getDeviceConfiguration();
+        AffineTransform deviceTransform = config.getDefaultTransform();
+        double scaleX = deviceTransform.getScaleX();
+        double scaleY = deviceTransform.getScaleY();
+        int imageWidth = (int) Math.ceil(width * scaleX);
+        int imageHeight = (int) Math.ceil(height * scaleY);
+
+        if (image == null || image.getWidth() != imageWidth || image.getHeight() != imageHeight) {
+            if (image != null) image.flush();
+            image = config.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+            valid = false;
+        }
+        if (!valid) {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, imageWidth, imageHeight);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.scale(scaleX, scaleY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setFont(component.getFont());
+            g.setColor(component.getForeground());
+            painter.accept(g);
+            g.dispose();
+            valid = true;
+        }
+
+        animated.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        animated.drawImage(image, 0, 0, width, height, null);
+    }
+}
@@ -0,0 +1,108 @@
+package animation.customComponents;
+
+import java.awt.AlphaComposite;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * A lazily built chain of half-size copies of an image (a mip pyramid).
+ * <p>
+ * Drawing a large image into a much smaller area makes Java2D resample the whole source every frame, which is the
+ * expensive part of scaling a label down. Instead the pyramid hands out the smallest level that is still at least as
+ * big as the area being drawn (in device pixels), so each frame only resamples less than 2x. Levels are only built
+ * the first time they're needed, each from the one above it.
+ * @since 1.1.0
+ * @author Yukurotei
+ */
+final class MipPyramid {
+
+    private final Image source;
+    private final int sourceWidth;
+    private final int sourceHeight;
+    //levels[0] is the source itself
+    private Image[] levels;
+
+    /**
+     * @param source - A fully loaded image
+     */
+    MipPyramid(Image source) {
+        this.source = source;
+        this.sourceWidth = source.getWidth(null);
+        this.sourceHeight = source.getHeight(null);
+        this.levels = new Image[]{source};
+    }
+
+    /**
+     * Draws the image through the pyramid
+     * @param g - The graphics, its transform is taken into account when picking a level
+     * @param x - x
+     * @param y - y
+     * @param width - The width to draw at, in user space
+     * @param height - The height to draw at, in user space
+     * @param observer - The image observer for the source
+     */
+    void draw(Graphics2D g, int x, int y, int width, int height, Component observer) {
+        if (width <= 0 || height <= 0) return;
+        AffineTransform transform = g.getTransform();
+        double deviceWidth = width * Math.hypot(transform.getScaleX(), transform.getShearY());
+        double deviceHeight = height * Math.hypot(transform.getShearX(), transform.getScaleY());
+
+        Image level = levelFor(deviceWidth, deviceHeight, g.getDeviceConfiguration());
+        if (level != source) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        g.drawImage(level, x, y, width, height, level == source ? observer : null);
+    }
+
+    private Image levelFor(double deviceWidth, double deviceHeight, GraphicsConfiguration config) {
+        int index = 0;
+        int levelWidth = sourceWidth;
+        int levelHeight = sourceHeight;
+        //go down while the next level would still cover the drawn area
+        while (levelWidth > 1 && levelHeight > 1 && levelWidth / 2 >= deviceWidth && levelHeight / 2 >= deviceHeight) {
+            levelWidth /= 2;
+            levelHeight /= 2;
+            index++;
+        }
+        return level(index, config);
+    }
+
+    private Image level(int index, GraphicsConfiguration config) {
+        if (index >= levels.length) {
+            levels = Arrays.copyOf(levels, index + 1);
+        }
+        if (levels[index] != null) return levels[index];
+
+        Image above = level(index - 1, config);
+        int width = Math.max(1, above.getWidth(null) / 2);
+        int height = Math.max(1, above.getHeight(null) / 2);
+        BufferedImage half = config != null
+                ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = half.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        //at exactly half size bilinear averages each 2x2 block
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(above, 0, 0, width, height, null);
+        g.dispose();
+        levels[index] = half;
+        return half;
+    }
+
+    /**
+     * Drops every level that was built, keeping only the source
+     */
+    void release() {
+        for (int i = 1; i < levels.length; i++) {
+            if (levels[i] != null) levels[i].flush();
+        }
+        levels = new Image[]{source};
+    }
+}